@@ -3,9 +3,11 @@ package com.academicplanner.assignmentservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class AssignmentServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AssignmentServiceApplication.class, args);
@@ -0,0 +1,103 @@
+package com.academicplanner.assignmentservice.client;
+
+import com.academicplanner.assignmentservice.dto.shared.CourseChangeNotification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+import static org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId;
+
+// Follows course-service's catalogue change feed (SSE) and drops cached validations for every code
+// that is created, updated (old and new code) or deleted. Reconnects resume from the last event seen;
+// when course-service can't resume it sends "reset", which clears the whole cache. While the feed is
+// down, the cache's TTLs are what bound staleness.
+@Component
+@ConditionalOnProperty(prefix = "services.course-service.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CourseChangeSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseChangeSubscriber.class);
+
+    private final WebClient webClient;
+    private final CourseServiceClient courseServiceClient;
+    private final String courseServiceUrl;
+    private final Duration reconnectDelay;
+
+    private volatile String lastEventId;
+    private volatile Disposable subscription;
+
+    public CourseChangeSubscriber(WebClient webClient,
+                                  CourseServiceClient courseServiceClient,
+                                  @Value("${services.course-service.url:http://localhost:8081}") String courseServiceUrl,
+                                  @Value("${services.course-service.change-feed.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.webClient = webClient;
+        this.courseServiceClient = courseServiceClient;
+        this.courseServiceUrl = courseServiceUrl;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.defer(this::connect)
+                // course-service ends each stream after its emitter timeout; pick up where it left off
+                .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectDelay)
+                        .maxBackoff(Duration.ofMinutes(1))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> logger.warn("Course change feed disconnected, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::apply);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Flux<ServerSentEvent<CourseChangeNotification>> connect() {
+        return webClient.get()
+                .uri(courseServiceUrl + "/api/courses/feed")
+                .attributes(clientRegistrationId("keycloak"))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (lastEventId != null) {
+                        headers.set("Last-Event-ID", lastEventId);
+                    }
+                })
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<CourseChangeNotification>>() {});
+    }
+
+    private void apply(ServerSentEvent<CourseChangeNotification> event) {
+        if (event.event() == null) {
+            return; // keep-alive comment
+        }
+        if ("reset".equals(event.event())) {
+            logger.info("Course change feed reset; clearing cached course validations");
+            courseServiceClient.invalidateAll();
+        } else if (event.data() != null) {
+            CourseChangeNotification change = event.data();
+            logger.debug("Course {} {}; dropping cached validation", change.getCourseCode(), event.event());
+            courseServiceClient.invalidate(change.getCourseCode(), change.getPreviousCourseCode());
+        }
+        if (event.id() != null) {
+            lastEventId = event.id();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.academicplanner.assignmentservice.client;
+
+import com.academicplanner.assignmentservice.dto.shared.CourseCodeFilterSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId;
+
+// Local copy of course-service's Bloom filter of course codes. A code the filter doesn't contain
+// definitely doesn't exist, so validation can fail without a course lookup. The local copy is never
+// trusted alone: a miss is confirmed against course-service's current filter first (a conditional
+// GET, usually a 304, shared by the callers waiting on it), so a course created moments ago isn't
+// rejected. Any problem with the filter simply means "don't know" and the caller does the remote
+// lookup as before; after a failed refresh the filter sits out retry-after.
+@Component
+public class CourseCodeFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCodeFilter.class);
+    private static final String HASH = "fnv1a64-fmix";
+
+    private final WebClient webClient;
+    private final String courseServiceUrl;
+    private final Duration retryAfter;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Filter filter;
+    // Guarded by refreshLock
+    private long lastRefreshNanos;
+    private boolean refreshed;
+    private boolean lastRefreshFailed;
+
+    public CourseCodeFilter(WebClient webClient,
+                            @Value("${services.course-service.url:http://localhost:8081}") String courseServiceUrl,
+                            @Value("${services.course-service.code-filter.retry-after:5s}") Duration retryAfter) {
+        this.webClient = webClient;
+        this.courseServiceUrl = courseServiceUrl;
+        this.retryAfter = retryAfter;
+    }
+
+    public boolean definitelyMissing(String courseCode) {
+        if (courseCode == null) {
+            return false;
+        }
+        Filter current = filter;
+        if (current != null && current.mightContain(courseCode)) {
+            return false;
+        }
+        Filter confirmed = refresh(System.nanoTime());
+        return confirmed != null && !confirmed.mightContain(courseCode);
+    }
+
+    // The filter as of a refresh that started no earlier than requestedAt, or null when there is none.
+    // Callers queue up behind the refresh in progress and then reuse the next one rather than each
+    // sending their own.
+    private Filter refresh(long requestedAt) {
+        refreshLock.lock();
+        try {
+            if (refreshed && lastRefreshNanos - requestedAt >= 0) {
+                return lastRefreshFailed ? null : filter;
+            }
+            if (refreshed && lastRefreshFailed && System.nanoTime() - lastRefreshNanos < retryAfter.toNanos()) {
+                return null;
+            }
+            refreshed = true;
+            lastRefreshNanos = System.nanoTime();
+            lastRefreshFailed = !fetch();
+            return lastRefreshFailed ? null : filter;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean fetch() {
+        try {
+            Filter current = filter;
+            ResponseEntity<CourseCodeFilterSnapshot> response = webClient.get()
+                    .uri(courseServiceUrl + "/api/courses/codes/filter")
+                    .attributes(clientRegistrationId("keycloak"))
+                    .headers(headers -> {
+                        if (current != null) {
+                            headers.setIfNoneMatch("\"" + current.version + "\"");
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(CourseCodeFilterSnapshot.class)
+                    .block();
+            if (response != null && response.getStatusCode() != HttpStatus.NOT_MODIFIED && response.getBody() != null) {
+                filter = Filter.of(response.getBody());
+                logger.debug("Course code filter updated to version {}", response.getBody().getVersion());
+            }
+            return filter != null;
+        } catch (Exception e) {
+            logger.warn("Could not refresh course code filter: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private record Filter(String version, long[] words, int numBits, int numHashes) {
+
+        static Filter of(CourseCodeFilterSnapshot snapshot) {
+            if (!HASH.equals(snapshot.getHash()) || snapshot.getNumBits() <= 0) {
+                throw new IllegalStateException("Unsupported course code filter: " + snapshot.getHash());
+            }
+            long[] words = new long[(snapshot.getNumBits() + 63) / 64];
+            ByteBuffer.wrap(Base64.getDecoder().decode(snapshot.getBits()))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer()
+                    .get(words);
+            return new Filter(snapshot.getVersion(), words, snapshot.getNumBits(), snapshot.getNumHashes());
+        }
+
+        // Must match CourseCodeFilter in course-service
+        boolean mightContain(String courseCode) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : courseCode.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,62 +2,166 @@ package com.academicplanner.assignmentservice.client;
 
 import com.academicplanner.assignmentservice.dto.shared.CourseDto;
 import com.academicplanner.assignmentservice.dto.shared.ValidationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
 public class CourseServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseServiceClient.class);
     private static final String COURSE_SERVICE_CB = "courseService";
 
     private final WebClient webClient;
+    // Boot's task executor: virtual threads when spring.threads.virtual.enabled is set, so a blocked
+    // validation no longer holds one of the few common-pool workers
+    private final AsyncTaskExecutor taskExecutor;
+    private final CourseCodeFilter courseCodeFilter;
+    // The instances the annotations use, so both paths share circuit state
+    private final io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker;
+    private final io.github.resilience4j.retry.Retry retry;
+    private final io.github.resilience4j.timelimiter.TimeLimiter timeLimiter;
+    private final String courseServiceUrl;
+    // Answers course-service gave (valid, or not found) so repeat validations of a code stay in-process.
+    // Fallback answers and the code filter's misses are never cached. Entries leave after their TTL, or sooner when
+    // CourseChangeSubscriber hears the code changed.
+    private final Cache<String, ValidationResponse> validations;
+    private final Duration validTtl;
+    private final Duration invalidTtl;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    @Value("${services.course-service.url:http://localhost:8081}")
-    private String courseServiceUrl;
+    public CourseServiceClient(WebClient webClient,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+                               CourseCodeFilter courseCodeFilter,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               RetryRegistry retryRegistry,
+                               TimeLimiterRegistry timeLimiterRegistry,
+                               @Value("${services.course-service.url:http://localhost:8081}") String courseServiceUrl,
+                               @Value("${services.course-service.validation-cache.max-size:10000}") long maxSize,
+                               @Value("${services.course-service.validation-cache.valid-ttl:10m}") Duration validTtl,
+                               @Value("${services.course-service.validation-cache.invalid-ttl:30s}") Duration invalidTtl,
+                               MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.taskExecutor = taskExecutor;
+        this.courseCodeFilter = courseCodeFilter;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(COURSE_SERVICE_CB);
+        this.retry = retryRegistry.retry(COURSE_SERVICE_CB);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(COURSE_SERVICE_CB);
+        this.courseServiceUrl = courseServiceUrl;
+        this.validTtl = validTtl;
+        this.invalidTtl = invalidTtl;
+        this.validations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ValidationExpiry(validTtl, invalidTtl))
+                .build();
+        this.cacheHits = Counter.builder("course.validation.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("course.validation.cache").tag("result", "miss").register(meterRegistry);
+    }
 
     @CircuitBreaker(name = COURSE_SERVICE_CB, fallbackMethod = "validateCourseCodeFallback")
     @Retry(name = COURSE_SERVICE_CB)
     @TimeLimiter(name = COURSE_SERVICE_CB)
     public CompletableFuture<ValidationResponse> validateCourseCodeAsync(String courseCode) {
-        return CompletableFuture.supplyAsync(() -> validateCourseCodeSync(courseCode));
+        return CompletableFuture.supplyAsync(() -> validateCourseCodeSync(courseCode), taskExecutor);
     }
 
-    @CircuitBreaker(name = COURSE_SERVICE_CB, fallbackMethod = "validateCourseCodeFallback")
-    @Retry(name = COURSE_SERVICE_CB)
+    // The circuit breaker is applied here rather than by annotation so that a cache hit isn't counted as
+    // a call. @Retry was dropped with it: the breaker's fallback answered every failure before a retry
+    // could see it, so it never fired.
     public ValidationResponse validateCourseCode(String courseCode) {
-        return validateCourseCodeSync(courseCode);
+        ValidationResponse cached = cachedValidation(courseCode);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return circuitBreaker.executeSupplier(() -> validateCourseCodeSync(courseCode));
+        } catch (Exception e) {
+            return validateCourseCodeFallback(courseCode, e);
+        }
+    }
+
+    // Non-blocking validation for the reactive path: the same time limiter, circuit breaker and retry
+    // (applied in the order the annotations are) and the same fallbacks, as Reactor operators.
+    // Only the course code filter's confirmation of a miss still blocks, on the bounded elastic scheduler.
+    public Mono<ValidationResponse> validateCourseCodeReactive(String courseCode) {
+        ValidationResponse cached = cachedValidation(courseCode);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = invalidations.get();
+        return Mono.fromCallable(() -> courseCodeFilter.definitelyMissing(courseCode))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(missing -> {
+                    if (missing) {
+                        logger.info("Course code {} is not in the course code filter", courseCode);
+                        return Mono.just(ValidationResponse.invalid("Course code not found", "course"));
+                    }
+                    return courseByCode(courseCode)
+                            .map(course -> {
+                                logger.info("Course code {} is valid: {}", courseCode, course.getTitle());
+                                return ValidationResponse.valid("course");
+                            })
+                            .defaultIfEmpty(ValidationResponse.invalid("Course code not found", "course"))
+                            .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                            .transformDeferred(RetryOperator.of(retry))
+                            .doOnNext(validation -> remember(courseCode, validation, generation));
+                })
+                .onErrorResume(TimeoutException.class,
+                        e -> Mono.fromFuture(validateCourseCodeFallback(courseCode, e)))
+                .onErrorResume(Exception.class,
+                        e -> Mono.just(validateCourseCodeFallback(courseCode, e)));
     }
 
     private ValidationResponse validateCourseCodeSync(String courseCode) {
+        long generation = invalidations.get();
+        // Not cached: a miss costs only a conditional GET of the filter, and a later lookup should see
+        // the code as soon as course-service has it
+        if (courseCodeFilter.definitelyMissing(courseCode)) {
+            logger.info("Course code {} is not in the course code filter", courseCode);
+            return ValidationResponse.invalid("Course code not found", "course");
+        }
         try {
             logger.info("Validating course code: {} with course service", courseCode);
 
-            CourseDto course = webClient.get()
-                    .uri(courseServiceUrl + "/api/courses/code/{courseCode}", courseCode)
-                    .attributes(org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId("keycloak"))
-                    .retrieve()
-                    .bodyToMono(CourseDto.class)
-                    .block();
+            CourseDto course = courseByCode(courseCode).block();
 
             if (course != null) {
                 logger.info("Course code {} is valid: {}", courseCode, course.getTitle());
-                return ValidationResponse.valid("course");
+                return remember(courseCode, ValidationResponse.valid("course"), generation);
             } else {
                 logger.warn("Course code {} not found", courseCode);
-                return ValidationResponse.invalid("Course code not found", "course");
+                return remember(courseCode, ValidationResponse.invalid("Course code not found", "course"), generation);
             }
         } catch (WebClientException e) {
             logger.error("WebClient error validating course code {}: {}", courseCode, e.getMessage());
@@ -74,18 +178,65 @@ public class CourseServiceClient {
         try {
             logger.info("Fetching course details for code: {}", courseCode);
 
-            return webClient.get()
-                    .uri(courseServiceUrl + "/api/courses/code/{courseCode}", courseCode)
-                    .attributes(org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId("keycloak"))
-                    .retrieve()
-                    .bodyToMono(CourseDto.class)
-                    .block();
+            return courseByCode(courseCode).block();
         } catch (Exception e) {
             logger.error("Error fetching course by code {}: {}", courseCode, e.getMessage());
             throw e; // Let circuit breaker handle it
         }
     }
 
+    // Called for each course change notification; previousCourseCode may be null
+    public void invalidate(String courseCode, String previousCourseCode) {
+        invalidations.incrementAndGet();
+        if (courseCode != null) {
+            validations.invalidate(courseCode);
+        }
+        if (previousCourseCode != null) {
+            validations.invalidate(previousCourseCode);
+        }
+    }
+
+    // For when notifications may have been missed
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        validations.invalidateAll();
+    }
+
+    private ValidationResponse cachedValidation(String courseCode) {
+        ValidationResponse cached = courseCode != null ? validations.getIfPresent(courseCode) : null;
+        if (cached != null) {
+            cacheHits.increment();
+            logger.debug("Course code {} validated from cache: {}", courseCode, cached.isValid());
+        } else {
+            cacheMisses.increment();
+        }
+        return cached;
+    }
+
+    // An answer that was in flight while an invalidation came in may predate the change, so it's dropped.
+    // Checked after the put, so an invalidation racing the put removes the entry either way.
+    private ValidationResponse remember(String courseCode, ValidationResponse validation, long generation) {
+        if (courseCode == null || (validation.isValid() ? validTtl : invalidTtl).isZero()) {
+            return validation;
+        }
+        validations.put(courseCode, validation);
+        if (invalidations.get() != generation) {
+            validations.invalidate(courseCode);
+        }
+        return validation;
+    }
+
+    // An unknown code is an answer, not a failure: the 404 arrives as empty, so neither path retries it
+    // or counts it against the circuit breaker
+    private Mono<CourseDto> courseByCode(String courseCode) {
+        return webClient.get()
+                .uri(courseServiceUrl + "/api/courses/code/{courseCode}", courseCode)
+                .attributes(org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId("keycloak"))
+                .retrieve()
+                .bodyToMono(CourseDto.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+
     // Fallback methods
     public ValidationResponse validateCourseCodeFallback(String courseCode, Exception ex) {
         logger.warn("Course validation fallback triggered for course code: {} due to: {}",
@@ -129,4 +280,23 @@ public class CourseServiceClient {
         // Basic pattern validation: 2-4 letters followed by 3 digits
         return courseCode != null && courseCode.matches("^[A-Z]{2,4}\\d{3}$");
     }
+
+    // Found codes are kept for valid-ttl, codes course-service doesn't know for the (shorter) invalid-ttl
+    private record ValidationExpiry(Duration validTtl, Duration invalidTtl) implements Expiry<String, ValidationResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, ValidationResponse validation, long currentTime) {
+            return (validation.isValid() ? validTtl : invalidTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ValidationResponse validation, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, validation, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ValidationResponse validation, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.academicplanner.assignmentservice.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -52,11 +53,16 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // The async dispatch that writes a Mono/Flux result; the request itself was
+                        // authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Actuator endpoints
                         .requestMatchers("/actuator/**").permitAll()
 
                         // All assignment endpoints require authentication
                         .requestMatchers("/api/assignments/**").hasAnyRole("ADMIN", "INSTRUCTOR", "STUDENT")
+                        .requestMatchers("/api/reactive/assignments/**").hasAnyRole("ADMIN", "INSTRUCTOR", "STUDENT")
 
                         // All other requests require authentication
                         .anyRequest().authenticated()
@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -241,12 +242,12 @@ public class AssignmentController {
 
     @Operation(
             summary = "Update overdue assignments",
-            description = "Batch update assignments that are past due to OVERDUE status. Requires ADMIN role."
+            description = "Batch update assignments that are past due to OVERDUE status, returning how many changed. Requires ADMIN role."
     )
     @PostMapping("/update-overdue")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> updateOverdueAssignments() {
-        assignmentService.updateOverdueAssignments();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Long>> updateOverdueAssignments() {
+        long updated = assignmentService.updateOverdueAssignments();
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
 }
\ No newline at end of file
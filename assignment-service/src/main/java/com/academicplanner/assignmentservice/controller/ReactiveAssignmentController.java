@@ -0,0 +1,180 @@
+package com.academicplanner.assignmentservice.controller;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import com.academicplanner.assignmentservice.service.ReactiveAssignmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// The assignment API on ReactiveAssignmentService. Handlers return Mono/Flux, so the servlet
+// thread is released as soon as the pipeline is assembled and the response is written when the
+// course-service and MongoDB answer.
+@RestController
+@RequestMapping("/api/reactive/assignments")
+@ConditionalOnProperty(prefix = "assignment-reactive", name = "enabled", havingValue = "true")
+@Tag(name = "Assignment Management (non-blocking)", description = "The assignment operations on the reactive MongoDB driver and course-service client")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+public class ReactiveAssignmentController {
+
+    private final ReactiveAssignmentService assignmentService;
+
+    @Operation(summary = "Get all assignments", description = "Retrieve a list of all assignments")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Flux<Assignment> getAllAssignments() {
+        return assignmentService.getAllAssignments();
+    }
+
+    @Operation(summary = "Get assignment by ID", description = "Retrieve a specific assignment by its unique identifier")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Assignment found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Assignment.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Assignment not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Mono<ResponseEntity<Assignment>> getAssignmentById(
+            @Parameter(description = "Assignment ID", required = true, example = "507f1f77bcf86cd799439011")
+            @PathVariable String id) {
+        return assignmentService.getAssignmentById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get assignments by course", description = "Retrieve all assignments for a specific course")
+    @GetMapping("/course/{courseCode}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Flux<Assignment> getAssignmentsByCourse(
+            @Parameter(description = "Course code", required = true, example = "CS101")
+            @PathVariable String courseCode) {
+        return assignmentService.getAssignmentsByCourseCode(courseCode);
+    }
+
+    @Operation(summary = "Get assignments by status", description = "Retrieve all assignments with a specific completion status")
+    @GetMapping("/status/{status}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Flux<Assignment> getAssignmentsByStatus(
+            @Parameter(description = "Assignment status", required = true)
+            @PathVariable AssignmentStatus status) {
+        return assignmentService.getAssignmentsByStatus(status);
+    }
+
+    @Operation(summary = "Get assignments by due date range", description = "Retrieve assignments due within a specific date range")
+    @GetMapping("/due-date-range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Flux<Assignment> getAssignmentsByDueDateRange(
+            @Parameter(description = "Start date (ISO format)", required = true, example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date (ISO format)", required = true, example = "2024-12-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return assignmentService.getAssignmentsByDueDateRange(startDate, endDate);
+    }
+
+    @Operation(
+            summary = "Get overdue assignments",
+            description = "Retrieve all assignments that are past due and not completed. Restricted to ADMIN and INSTRUCTOR roles."
+    )
+    @GetMapping("/overdue")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public Flux<Assignment> getOverdueAssignments() {
+        return assignmentService.getOverdueAssignments();
+    }
+
+    @Operation(
+            summary = "Create a new assignment",
+            description = "Create a new assignment. Requires ADMIN or INSTRUCTOR role. Validates course code against course service without holding a request thread."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Assignment created successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Assignment.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or course code validation failed",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN or INSTRUCTOR role required",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public Mono<ResponseEntity<Assignment>> createAssignment(
+            @Parameter(description = "Assignment data to create", required = true)
+            @Valid @RequestBody Assignment assignment) {
+        return assignmentService.createAssignment(assignment)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @Operation(summary = "Update an existing assignment", description = "Update assignment information. Requires ADMIN or INSTRUCTOR role.")
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public Mono<ResponseEntity<Assignment>> updateAssignment(
+            @Parameter(description = "Assignment ID", required = true, example = "507f1f77bcf86cd799439011")
+            @PathVariable String id,
+            @Parameter(description = "Updated assignment data", required = true)
+            @Valid @RequestBody Assignment assignment) {
+        return assignmentService.updateAssignment(id, assignment)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Mark assignment as completed", description = "Mark an assignment as completed")
+    @PatchMapping("/{id}/complete")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public Mono<ResponseEntity<Assignment>> markAssignmentAsCompleted(
+            @Parameter(description = "Assignment ID", required = true, example = "507f1f77bcf86cd799439011")
+            @PathVariable String id) {
+        return assignmentService.markAsCompleted(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Delete an assignment", description = "Remove an assignment from the system. Requires ADMIN or INSTRUCTOR role.")
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public Mono<ResponseEntity<Void>> deleteAssignment(
+            @Parameter(description = "Assignment ID", required = true, example = "507f1f77bcf86cd799439011")
+            @PathVariable String id) {
+        return assignmentService.deleteAssignment(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.academicplanner.assignmentservice.dto.shared;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The parts of an event on course-service's GET /api/courses/feed that matter here
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CourseChangeNotification {
+    private long sequence;
+    private String type;
+    private String courseCode;
+    private String previousCourseCode;
+}
@@ -0,0 +1,18 @@
+package com.academicplanner.assignmentservice.dto.shared;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Body of course-service's GET /api/courses/codes/filter
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseCodeFilterSnapshot {
+    private String version;
+    private String hash;
+    private int numBits;
+    private int numHashes;
+    private int count;
+    private String bits;
+}
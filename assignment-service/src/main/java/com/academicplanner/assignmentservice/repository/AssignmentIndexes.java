@@ -0,0 +1,140 @@
+package com.academicplanner.assignmentservice.repository;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Indexes for every AssignmentRepository query, created at startup, followed by a check of the
+// query plans: each query pattern is explained and its winning plan logged. With plan-check set to
+// "fail" (as in the integration tests) a plan containing a COLLSCAN stops the application starting,
+// so a new query without a supporting index is caught before it reaches production data.
+@Component
+public class AssignmentIndexes implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentIndexes.class);
+
+    // Case-insensitive equality, used by findByCourseCodeIgnoreCase; must match its @Query collation
+    public static final Collation COURSE_CODE_COLLATION = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    private final MongoTemplate mongoTemplate;
+    private final PlanCheck planCheck;
+
+    public AssignmentIndexes(MongoTemplate mongoTemplate,
+                             @Value("${assignment-indexes.plan-check:log}") PlanCheck planCheck) {
+        this.mongoTemplate = mongoTemplate;
+        this.planCheck = planCheck;
+    }
+
+    public enum PlanCheck {
+        OFF,
+        LOG,
+        FAIL
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+        if (planCheck != PlanCheck.OFF) {
+            verifyPlans();
+        }
+    }
+
+    private void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(Assignment.class);
+        // findByCourseCodeIgnoreCase
+        indexes.ensureIndex(new Index().on("courseCode", Sort.Direction.ASC)
+                .named("courseCode_ci").collation(COURSE_CODE_COLLATION));
+        // findByCourseCodeAndDueDateBetween
+        indexes.ensureIndex(new Index().on("courseCode", Sort.Direction.ASC).on("dueDate", Sort.Direction.ASC)
+                .named("courseCode_dueDate"));
+        // findByStatus
+        indexes.ensureIndex(new Index().on("status", Sort.Direction.ASC).on("dueDate", Sort.Direction.ASC)
+                .named("status_dueDate"));
+        // findByDueDateBetween, findOverdueAssignments, findOpenDueBefore and markOverdue
+        indexes.ensureIndex(new Index().on("dueDate", Sort.Direction.ASC).on("status", Sort.Direction.ASC)
+                .named("dueDate_status"));
+        logger.info("Assignment indexes: {}", indexes.getIndexInfo().stream().map(IndexInfo::getName).toList());
+    }
+
+    // Mirrors the AssignmentRepository queries; keep in step when adding one
+    private void verifyPlans() {
+        Date now = toDate(LocalDateTime.now());
+        Date weekAhead = toDate(LocalDateTime.now().plusDays(7));
+        Map<String, Document> queries = new LinkedHashMap<>();
+        queries.put("findByCourseCodeIgnoreCase", new Document("courseCode", "CS101"));
+        queries.put("findByStatus", new Document("status", AssignmentStatus.PENDING.name()));
+        queries.put("findByDueDateBetween", new Document("dueDate", new Document("$gte", now).append("$lte", weekAhead)));
+        queries.put("findByCourseCodeAndDueDateBetween", new Document("courseCode", "CS101")
+                .append("dueDate", new Document("$gte", now).append("$lte", weekAhead)));
+        queries.put("findOverdueAssignments", new Document("dueDate", new Document("$lt", now))
+                .append("status", new Document("$ne", AssignmentStatus.COMPLETED.name())));
+        queries.put("findOpenDueBefore / markOverdue", new Document("dueDate", new Document("$lt", now))
+                .append("status", new Document("$nin", List.of(AssignmentStatus.COMPLETED.name(), AssignmentStatus.OVERDUE.name()))));
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, filter) -> {
+            Document find = new Document("find", mongoTemplate.getCollectionName(Assignment.class)).append("filter", filter);
+            if (name.equals("findByCourseCodeIgnoreCase")) {
+                find.append("collation", COURSE_CODE_COLLATION.toDocument());
+            }
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", find).append("verbosity", "queryPlanner"));
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            if (winningPlan.containsKey("queryPlan")) {
+                // Plans run by the slot-based engine nest the classic plan tree one level down
+                winningPlan = winningPlan.get("queryPlan", Document.class);
+            }
+            List<String> stages = new ArrayList<>();
+            describe(winningPlan, stages);
+            logger.info("Query plan for {}: {}", name, String.join(" <- ", stages));
+            if (stages.contains("COLLSCAN")) {
+                scans.add(name);
+            }
+        });
+
+        if (!scans.isEmpty()) {
+            String message = "Assignment queries scanning the whole collection: " + scans;
+            if (planCheck == PlanCheck.FAIL) {
+                throw new IllegalStateException(message);
+            }
+            logger.warn(message);
+        }
+    }
+
+    // Stage names from the root of the plan down, with the index used by each IXSCAN
+    private static void describe(Document stage, List<String> stages) {
+        String name = stage.getString("stage");
+        stages.add("IXSCAN".equals(name) ? name + " " + stage.getString("indexName") : name);
+        Document input = stage.get("inputStage", Document.class);
+        if (input != null) {
+            describe(input, stages);
+        }
+        List<Document> inputs = stage.getList("inputStages", Document.class);
+        if (inputs != null) {
+            inputs.forEach(child -> describe(child, stages));
+        }
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -10,8 +10,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AssignmentRepository extends MongoRepository<Assignment, String> {
+public interface AssignmentRepository extends MongoRepository<Assignment, String>, AssignmentRepositoryCustom {
     
+    // Collation rather than the case-insensitive regex the method name would derive, so the
+    // courseCode_ci index (see AssignmentIndexes) serves it
+    @Query(value = "{ 'courseCode' : ?0 }", collation = "{ 'locale' : 'en', 'strength' : 2 }")
     List<Assignment> findByCourseCodeIgnoreCase(String courseCode);
     
     List<Assignment> findByStatus(AssignmentStatus status);
@@ -24,4 +27,9 @@ public interface AssignmentRepository extends MongoRepository<Assignment, String
     
     @Query("{ 'dueDate' : { $lt: ?0 }, 'status' : { $ne: 'COMPLETED' } }")
     List<Assignment> findOverdueAssignments(LocalDateTime currentDate);
+
+    // Due date and status only, for the overdue sweeper's due-date wheel
+    @Query(value = "{ 'dueDate' : { $lt: ?0 }, 'status' : { $nin: ['COMPLETED', 'OVERDUE'] } }",
+            fields = "{ 'dueDate' : 1, 'status' : 1 }")
+    List<Assignment> findOpenDueBefore(LocalDateTime horizon);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.academicplanner.assignmentservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface AssignmentRepositoryCustom {
+
+    // Marks every assignment due before the given time, and neither completed nor already overdue,
+    // as OVERDUE in one server-side update; returns the number of assignments changed
+    long markOverdue(LocalDateTime now);
+
+    // As above, limited to the given ids
+    long markOverdue(Collection<String> assignmentIds, LocalDateTime now);
+}
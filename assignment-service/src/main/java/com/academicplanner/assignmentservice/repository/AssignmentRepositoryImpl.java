@@ -0,0 +1,41 @@
+package com.academicplanner.assignmentservice.repository;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class AssignmentRepositoryImpl implements AssignmentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long markOverdue(LocalDateTime now) {
+        return markOverdue(overdue(now), now);
+    }
+
+    @Override
+    public long markOverdue(Collection<String> assignmentIds, LocalDateTime now) {
+        return markOverdue(overdue(now).and("_id").in(assignmentIds), now);
+    }
+
+    // Only status and updatedAt are written, so edits made to other fields in the meantime survive
+    private long markOverdue(Criteria criteria, LocalDateTime now) {
+        Update update = new Update()
+                .set("status", AssignmentStatus.OVERDUE)
+                .set("updatedAt", now);
+        return mongoTemplate.updateMulti(Query.query(criteria), update, Assignment.class).getModifiedCount();
+    }
+
+    private static Criteria overdue(LocalDateTime now) {
+        return Criteria.where("dueDate").lt(now)
+                .and("status").nin(AssignmentStatus.COMPLETED, AssignmentStatus.OVERDUE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.academicplanner.assignmentservice.repository;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+// Same queries as AssignmentRepository on the reactive driver, for ReactiveAssignmentService.
+// The indexes in AssignmentIndexes serve both.
+@Repository
+public interface ReactiveAssignmentRepository extends ReactiveMongoRepository<Assignment, String> {
+
+    @Query(value = "{ 'courseCode' : ?0 }", collation = "{ 'locale' : 'en', 'strength' : 2 }")
+    Flux<Assignment> findByCourseCodeIgnoreCase(String courseCode);
+
+    Flux<Assignment> findByStatus(AssignmentStatus status);
+
+    @Query("{ 'dueDate' : { $gte: ?0, $lte: ?1 } }")
+    Flux<Assignment> findByDueDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("{ 'courseCode' : ?0, 'dueDate' : { $gte: ?1, $lte: ?2 } }")
+    Flux<Assignment> findByCourseCodeAndDueDateBetween(String courseCode, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("{ 'dueDate' : { $lt: ?0 }, 'status' : { $ne: 'COMPLETED' } }")
+    Flux<Assignment> findOverdueAssignments(LocalDateTime currentDate);
+}
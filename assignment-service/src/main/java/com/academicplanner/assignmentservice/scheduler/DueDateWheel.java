@@ -0,0 +1,184 @@
+package com.academicplanner.assignmentservice.scheduler;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hashed timer wheel of upcoming due dates, one slot per tick. An assignment due in tick t sits in
+// slot t % slots and is handed to the sweeper once the wheel has advanced past t, so advancing only
+// looks at the slots for the ticks that elapsed rather than at every pending assignment.
+//
+// Only due dates within one revolution (tick * slots) are held; later ones are picked up by the
+// sweeper's periodic refill from MongoDB once they come within range. Due dates are interpreted in
+// the system time zone, as LocalDateTime.now() is everywhere else.
+//
+// Only the replica that sweeps drains the wheel, so only that one fills it: tracking is a no-op
+// until the sweeper loads the wheel on taking the lease, and stops again when it loses it.
+@Component
+public class DueDateWheel {
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final int slotCount;
+    private final List<Set<String>> slots;
+    private final Map<String, Long> dueTicks = new HashMap<>();
+    // Guards all state; a lock rather than synchronized so virtual threads don't pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    // Last tick handed out by advance, or -1 before the first advance
+    private long cursor = -1;
+    private boolean active;
+
+    public DueDateWheel(@Value("${overdue-sweeper.tick:PT1S}") Duration tick,
+                        @Value("${overdue-sweeper.slots:600}") int slotCount) {
+        this.clock = Clock.systemUTC();
+        this.tickMillis = tick.toMillis();
+        this.slotCount = slotCount;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    // Everything due before this instant is within the wheel's range
+    public Instant horizon() {
+        return Instant.ofEpochMilli((currentTick() + slotCount) * tickMillis);
+    }
+
+    // Called after every write; completed, overdue and far-off assignments are dropped
+    public void track(Assignment assignment) {
+        lock.lock();
+        try {
+            if (!active) {
+                return;
+            }
+            remove(assignment.getAssignmentId());
+            add(assignment);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void untrack(String assignmentId) {
+        lock.lock();
+        try {
+            remove(assignmentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Replaces the contents with the given upcoming assignments, as loaded from the database, and
+    // tracks writes from then on
+    public void reset(Collection<Assignment> upcoming) {
+        lock.lock();
+        try {
+            slots.forEach(Set::clear);
+            dueTicks.clear();
+            upcoming.forEach(this::add);
+            active = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Empties the wheel and ignores writes until the next reset
+    public void deactivate() {
+        lock.lock();
+        try {
+            active = false;
+            slots.forEach(Set::clear);
+            dueTicks.clear();
+            cursor = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ids whose due date has passed since the last call
+    public List<String> advance() {
+        long now = currentTick();
+        List<String> due = new ArrayList<>();
+        lock.lock();
+        try {
+            long from = cursor < 0 ? now - slotCount + 1 : cursor + 1;
+            // After a long pause every slot is checked once rather than going round repeatedly
+            for (long tick = Math.max(from, now - slotCount + 1); tick <= now; tick++) {
+                Iterator<String> ids = slots.get(slot(tick)).iterator();
+                while (ids.hasNext()) {
+                    String id = ids.next();
+                    if (dueTicks.get(id) <= now) {
+                        ids.remove();
+                        dueTicks.remove(id);
+                        due.add(id);
+                    }
+                }
+            }
+            cursor = Math.max(cursor, now);
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return dueTicks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Assignment assignment) {
+        if (assignment.getAssignmentId() == null || assignment.getDueDate() == null
+                || assignment.getStatus() == AssignmentStatus.COMPLETED
+                || assignment.getStatus() == AssignmentStatus.OVERDUE) {
+            return;
+        }
+        // The tick after the one containing the due date, so it has passed by the time the tick is swept
+        long dueTick = Math.floorDiv(toEpochMilli(assignment.getDueDate()), tickMillis) + 1;
+        long reference = Math.max(cursor, currentTick());
+        if (dueTick > reference + slotCount) {
+            return;
+        }
+        // Already past due: goes in the next tick to be swept
+        dueTick = Math.max(dueTick, cursor + 1);
+        dueTicks.put(assignment.getAssignmentId(), dueTick);
+        slots.get(slot(dueTick)).add(assignment.getAssignmentId());
+    }
+
+    private void remove(String assignmentId) {
+        Long dueTick = dueTicks.remove(assignmentId);
+        if (dueTick != null) {
+            slots.get(slot(dueTick)).remove(assignmentId);
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slotCount);
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(clock.millis(), tickMillis);
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,94 @@
+package com.academicplanner.assignmentservice.scheduler;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.repository.AssignmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Flips assignments to OVERDUE within a tick of their due date. Only the replica holding the
+// SweeperLease sweeps; each tick it takes the ids whose due date passed from the DueDateWheel and
+// marks just those, re-checking due date and status in the update itself.
+//
+// The leader's wheel tracks the leader's own writes; other replicas keep theirs empty. Writes made
+// on other replicas reach the leader only through the refill, which reloads everything due within
+// the wheel's range (plus anything past due and still open) every refill-interval and whenever this
+// replica becomes leader.
+@Component
+@ConditionalOnProperty(prefix = "overdue-sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueSweeper.class);
+
+    private final AssignmentRepository assignmentRepository;
+    private final DueDateWheel dueDateWheel;
+    private final SweeperLease lease;
+    private final Duration refillInterval;
+    private final Counter swept;
+
+    private boolean leader;
+    private Instant nextRefill = Instant.MIN;
+
+    public OverdueSweeper(AssignmentRepository assignmentRepository,
+                          DueDateWheel dueDateWheel,
+                          SweeperLease lease,
+                          MeterRegistry meterRegistry,
+                          @Value("${overdue-sweeper.refill-interval:PT30S}") Duration refillInterval) {
+        this.assignmentRepository = assignmentRepository;
+        this.dueDateWheel = dueDateWheel;
+        this.lease = lease;
+        this.refillInterval = refillInterval;
+        this.swept = Counter.builder("assignment.overdue.swept")
+                .description("Assignments marked overdue by the sweeper")
+                .register(meterRegistry);
+    }
+
+    // Fixed delay, so ticks never overlap and no locking is needed here
+    @Scheduled(fixedDelayString = "${overdue-sweeper.tick:PT1S}")
+    public void sweep() {
+        boolean wasLeader = leader;
+        leader = lease.isLeader();
+        if (!leader) {
+            if (wasLeader) {
+                dueDateWheel.deactivate();
+            }
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            if (!wasLeader || !now.isBefore(nextRefill)) {
+                refill();
+                nextRefill = now.plus(refillInterval);
+            }
+            List<String> due = dueDateWheel.advance();
+            if (due.isEmpty()) {
+                return;
+            }
+            long updated = assignmentRepository.markOverdue(due, LocalDateTime.now());
+            swept.increment(updated);
+            logger.debug("Marked {} of {} due assignments overdue", updated, due.size());
+        } catch (RuntimeException e) {
+            // Ids taken from the wheel are found again by the next refill
+            logger.warn("Overdue sweep failed: {}", e.getMessage());
+            nextRefill = Instant.MIN;
+        }
+    }
+
+    private void refill() {
+        LocalDateTime horizon = LocalDateTime.ofInstant(dueDateWheel.horizon(), ZoneId.systemDefault());
+        List<Assignment> upcoming = assignmentRepository.findOpenDueBefore(horizon);
+        dueDateWheel.reset(upcoming);
+        logger.debug("Overdue sweeper tracking {} assignments due before {}", upcoming.size(), horizon);
+    }
+}
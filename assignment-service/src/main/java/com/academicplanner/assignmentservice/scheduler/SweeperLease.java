@@ -0,0 +1,96 @@
+package com.academicplanner.assignmentservice.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+// Leader election for the overdue sweeper: a lease document in MongoDB that one replica holds and
+// renews. Another replica can only take it over once it has expired, so if the holder stops, a
+// different replica is sweeping within one ttl. A replica treats itself as leader only until its
+// last successful renewal plus ttl, so it stops sweeping no later than another can take over.
+@Component
+public class SweeperLease {
+
+    private static final Logger logger = LoggerFactory.getLogger(SweeperLease.class);
+    static final String COLLECTION = "scheduler_leases";
+    static final String NAME = "overdue-sweeper";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile Instant heldUntil = Instant.MIN;
+    private volatile Instant nextAttempt = Instant.MIN;
+
+    public SweeperLease(MongoTemplate mongoTemplate,
+                        @Value("${overdue-sweeper.lease-ttl:PT15S}") Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+    }
+
+    // Renews (or tries to take) the lease at most every ttl/3, so the database sees a few writes
+    // per ttl per replica rather than one per sweep
+    public boolean isLeader() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextAttempt)) {
+            return now.isBefore(heldUntil);
+        }
+        nextAttempt = now.plus(ttl.dividedBy(3));
+        boolean wasLeader = now.isBefore(heldUntil);
+        if (tryAcquire(now)) {
+            heldUntil = now.plus(ttl);
+            if (!wasLeader) {
+                logger.info("Acquired overdue sweeper lease as {}", owner);
+            }
+        } else if (wasLeader) {
+            logger.info("Lost overdue sweeper lease");
+            heldUntil = Instant.MIN;
+        }
+        return now.isBefore(heldUntil);
+    }
+
+    private boolean tryAcquire(Instant now) {
+        Query available = Query.query(Criteria.where("_id").is(NAME)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(Date.from(now))));
+        Update claim = new Update()
+                .set("owner", owner)
+                .set("expiresAt", Date.from(now.plus(ttl)));
+        try {
+            Document lease = mongoTemplate.findAndModify(available, claim,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+            return lease != null && owner.equals(lease.getString("owner"));
+        } catch (DuplicateKeyException e) {
+            // Held by another replica: the upsert tried to insert a second lease document
+            return false;
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew overdue sweeper lease: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Lets another replica take over straight away instead of waiting for the lease to expire
+    @PreDestroy
+    void release() {
+        if (Instant.now().isBefore(heldUntil)) {
+            try {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(NAME).and("owner").is(owner)), COLLECTION);
+            } catch (RuntimeException e) {
+                logger.debug("Could not release overdue sweeper lease: {}", e.getMessage());
+            }
+        }
+    }
+}
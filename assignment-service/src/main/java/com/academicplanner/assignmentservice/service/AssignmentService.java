@@ -5,6 +5,7 @@ import com.academicplanner.assignmentservice.entity.Assignment;
 import com.academicplanner.assignmentservice.entity.AssignmentStatus;
 import com.academicplanner.assignmentservice.exception.CourseValidationException;
 import com.academicplanner.assignmentservice.repository.AssignmentRepository;
+import com.academicplanner.assignmentservice.scheduler.DueDateWheel;
 import com.academicplanner.assignmentservice.dto.shared.ValidationResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,6 +19,7 @@ import java.util.Optional;
 public class AssignmentService {
     private final AssignmentRepository assignmentRepository;
     private final CourseServiceClient courseServiceClient;
+    private final DueDateWheel dueDateWheel;
     
     public List<Assignment> getAllAssignments() {
         return assignmentRepository.findAll();
@@ -58,7 +60,7 @@ public class AssignmentService {
             );
         }
         
-        return assignmentRepository.save(assignment);
+        return track(assignmentRepository.save(assignment));
     }
     
     public Assignment updateAssignment(Assignment assignment) {
@@ -80,7 +82,7 @@ public class AssignmentService {
         }
         
         assignment.setUpdatedAt(LocalDateTime.now());
-        return assignmentRepository.save(assignment);
+        return track(assignmentRepository.save(assignment));
     }
     
     public Assignment markAsCompleted(String id) {
@@ -88,20 +90,24 @@ public class AssignmentService {
         if (assignmentOpt.isPresent()) {
             Assignment assignment = assignmentOpt.get();
             assignment.setStatus(AssignmentStatus.COMPLETED);
-            return assignmentRepository.save(assignment);
+            return track(assignmentRepository.save(assignment));
         }
         return null;
     }
     
     public void deleteAssignment(String id) {
         assignmentRepository.deleteById(id);
+        dueDateWheel.untrack(id);
     }
     
-    public void updateOverdueAssignments() {
-        List<Assignment> overdueAssignments = getOverdueAssignments();
-        for (Assignment assignment : overdueAssignments) {
-            assignment.setStatus(AssignmentStatus.OVERDUE);
-            assignmentRepository.save(assignment);
-        }
+    // One updateMulti on the server rather than loading and saving each overdue assignment
+    public long updateOverdueAssignments() {
+        return assignmentRepository.markOverdue(LocalDateTime.now());
+    }
+
+    // Keeps the overdue sweeper's wheel in step with this replica's writes (a no-op unless it sweeps)
+    private Assignment track(Assignment saved) {
+        dueDateWheel.track(saved);
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.academicplanner.assignmentservice.service;
+
+import com.academicplanner.assignmentservice.client.CourseServiceClient;
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import com.academicplanner.assignmentservice.exception.CourseValidationException;
+import com.academicplanner.assignmentservice.repository.ReactiveAssignmentRepository;
+import com.academicplanner.assignmentservice.scheduler.DueDateWheel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// AssignmentService end to end without blocking: the course-service validation and the MongoDB
+// reads and writes are composed as Mono/Flux, so a slow course-service holds no request thread
+// while it answers. Enabled with assignment-reactive.enabled.
+@Service
+@ConditionalOnProperty(prefix = "assignment-reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveAssignmentService {
+    private final ReactiveAssignmentRepository assignmentRepository;
+    private final CourseServiceClient courseServiceClient;
+    private final DueDateWheel dueDateWheel;
+
+    public Flux<Assignment> getAllAssignments() {
+        return assignmentRepository.findAll();
+    }
+
+    public Mono<Assignment> getAssignmentById(String id) {
+        return assignmentRepository.findById(id);
+    }
+
+    public Flux<Assignment> getAssignmentsByCourseCode(String courseCode) {
+        return assignmentRepository.findByCourseCodeIgnoreCase(courseCode);
+    }
+
+    public Flux<Assignment> getAssignmentsByStatus(AssignmentStatus status) {
+        return assignmentRepository.findByStatus(status);
+    }
+
+    public Flux<Assignment> getAssignmentsByDueDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return assignmentRepository.findByDueDateBetween(startDate, endDate);
+    }
+
+    public Flux<Assignment> getOverdueAssignments() {
+        return assignmentRepository.findOverdueAssignments(LocalDateTime.now());
+    }
+
+    public Mono<Assignment> createAssignment(Assignment assignment) {
+        return validateCourseCode(assignment.getCourseCode(), "Cannot create assignment: ")
+                .then(Mono.defer(() -> assignmentRepository.save(assignment)))
+                .map(this::track);
+    }
+
+    // Empty when there is no assignment with this id
+    public Mono<Assignment> updateAssignment(String id, Assignment assignment) {
+        return assignmentRepository.findById(id)
+                .flatMap(existing -> {
+                    Mono<Void> validation = existing.getCourseCode().equals(assignment.getCourseCode())
+                            ? Mono.empty()
+                            : validateCourseCode(assignment.getCourseCode(), "Cannot update assignment: ");
+                    assignment.setAssignmentId(id);
+                    assignment.setUpdatedAt(LocalDateTime.now());
+                    return validation.then(Mono.defer(() -> assignmentRepository.save(assignment)));
+                })
+                .map(this::track);
+    }
+
+    public Mono<Assignment> markAsCompleted(String id) {
+        return assignmentRepository.findById(id)
+                .flatMap(assignment -> {
+                    assignment.setStatus(AssignmentStatus.COMPLETED);
+                    return assignmentRepository.save(assignment);
+                })
+                .map(this::track);
+    }
+
+    // True if there was an assignment to delete
+    public Mono<Boolean> deleteAssignment(String id) {
+        return assignmentRepository.findById(id)
+                .flatMap(assignment -> assignmentRepository.delete(assignment).thenReturn(true))
+                .doOnNext(deleted -> dueDateWheel.untrack(id))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> validateCourseCode(String courseCode, String action) {
+        return courseServiceClient.validateCourseCodeReactive(courseCode)
+                .flatMap(validation -> validation.isValid()
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new CourseValidationException(
+                                action + validation.getMessage() + " for course code: " + courseCode)));
+    }
+
+    // Keeps the overdue sweeper's wheel in step with this replica's writes (a no-op unless it sweeps)
+    private Assignment track(Assignment saved) {
+        dueDateWheel.track(saved);
+        return saved;
+    }
+}
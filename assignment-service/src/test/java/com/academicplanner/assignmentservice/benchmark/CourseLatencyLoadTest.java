@@ -0,0 +1,166 @@
+package com.academicplanner.assignmentservice.benchmark;
+
+import com.academicplanner.assignmentservice.AssignmentServiceApplication;
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.repository.AssignmentRepository;
+import com.academicplanner.assignmentservice.service.AssignmentService;
+import com.academicplanner.assignmentservice.service.ReactiveAssignmentService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import dasniko.testcontainers.keycloak.KeycloakContainer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Creating assignments while every course-service lookup takes LATENCY: the blocking service driven
+// from a pool the size of Tomcat's default (each request holds its thread for the whole lookup)
+// against the reactive service with the same number of requests in flight.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(classes = AssignmentServiceApplication.class)
+@Testcontainers
+class CourseLatencyLoadTest {
+
+    private static final int REQUESTS = 4_000;
+    private static final int REQUEST_THREADS = 200;
+    private static final int IN_FLIGHT = 1_000;
+    private static final Duration LATENCY = Duration.ofMillis(200);
+
+    static {
+        // Reactor Netty's default pool (2 connections per core) would cap both paths alike
+        System.setProperty("reactor.netty.pool.maxConnections", String.valueOf(IN_FLIGHT));
+    }
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:6.0.6");
+
+    @Container
+    static KeycloakContainer keycloak = new KeycloakContainer("quay.io/keycloak/keycloak:23.0.0")
+            .withRealmImportFile("keycloak/test-realm.json");
+
+    private static final String TEST_REALM = "test-realm";
+    private static WireMockServer wireMockServer;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+
+        // Delayed responses are scheduled rather than slept, so WireMock itself isn't the bottleneck
+        wireMockServer = new WireMockServer(WireMockConfiguration.options()
+                .dynamicPort()
+                .containerThreads(IN_FLIGHT + 50)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(50));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathMatching("/api/courses/code/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay((int) LATENCY.toMillis())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"courseCode\":\"CS101\",\"title\":\"Introduction to Programming\"}")));
+        registry.add("services.course-service.url", wireMockServer::baseUrl);
+
+        String keycloakUrl = keycloak.getAuthServerUrl();
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM + "/protocol/openid-connect/certs");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+        registry.add("spring.security.oauth2.client.provider.keycloak.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+
+        registry.add("assignment-reactive.enabled", () -> "true");
+        registry.add("overdue-sweeper.enabled", () -> "false");
+        registry.add("logging.level.com.academicplanner.assignmentservice", () -> "WARN");
+        registry.add("logging.level.org.springframework.data.mongodb", () -> "WARN");
+    }
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private ReactiveAssignmentService reactiveAssignmentService;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void reactivePathSustainsMoreThroughputUnderCourseServiceLatency() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        // Warm up the token, connections and both code paths
+        assignmentService.createAssignment(assignment(-1));
+        reactiveAssignmentService.createAssignment(assignment(-2)).block();
+        assignmentRepository.deleteAll();
+
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            List<Future<Assignment>> created = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                Assignment assignment = assignment(i);
+                created.add(requestThreads.submit(() -> assignmentService.createAssignment(assignment)));
+            }
+            for (Future<Assignment> future : created) {
+                future.get();
+            }
+        } finally {
+            requestThreads.shutdown();
+        }
+        double blockingSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int blockingPeakThreads = threads.getPeakThreadCount();
+        long blockingCreated = assignmentRepository.count();
+
+        assignmentRepository.deleteAll();
+        threads.resetPeakThreadCount();
+        start = System.nanoTime();
+        Long reactiveCreated = Flux.range(0, REQUESTS)
+                .flatMap(i -> reactiveAssignmentService.createAssignment(assignment(i)), IN_FLIGHT)
+                .count()
+                .block();
+        double reactiveSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int reactivePeakThreads = threads.getPeakThreadCount();
+
+        System.out.printf("%n%-34s %10s %10s %12s%n",
+                "create x" + REQUESTS + " @ " + LATENCY.toMillis() + " ms", "seconds", "req/s", "peak threads");
+        System.out.printf("%-34s %10.2f %10.0f %12d%n", "blocking, " + REQUEST_THREADS + " request threads",
+                blockingSeconds, REQUESTS / blockingSeconds, blockingPeakThreads);
+        System.out.printf("%-34s %10.2f %10.0f %12d%n", "reactive, " + IN_FLIGHT + " in flight",
+                reactiveSeconds, REQUESTS / reactiveSeconds, reactivePeakThreads);
+
+        assertThat(blockingCreated).isEqualTo(REQUESTS);
+        assertThat(reactiveCreated).isEqualTo(REQUESTS);
+        assertThat(assignmentRepository.count()).isEqualTo(REQUESTS);
+        assertThat(REQUESTS / reactiveSeconds).isGreaterThan(REQUESTS / blockingSeconds);
+        assertThat(reactivePeakThreads).isLessThan(blockingPeakThreads);
+    }
+
+    private static Assignment assignment(int i) {
+        return new Assignment("Load " + i, LocalDateTime.now().plusDays(7), "CS101", "Created under course-service latency");
+    }
+}
@@ -0,0 +1,104 @@
+package com.academicplanner.assignmentservice.benchmark;
+
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import com.academicplanner.assignmentservice.repository.AssignmentRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Overdue transition at 100k assignments: the previous load-and-save loop against the single
+// updateMulti in AssignmentRepositoryImpl, on the same data. Every fifth assignment is overdue.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@Testcontainers
+class OverdueTransitionBenchmarkTest {
+
+    private static final int ASSIGNMENTS = 100_000;
+    private static final int CHUNK = 10_000;
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:6.0.6");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static LocalDateTime now;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(mongodb.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(client, "assignment_bench");
+        now = LocalDateTime.now();
+    }
+
+    @AfterAll
+    static void close() {
+        client.close();
+    }
+
+    @Test
+    void updateMultiIsFasterThanSavingEachAssignment() {
+        // Previous implementation: load every overdue assignment and save it back whole
+        long expectedOverdue = loadAssignments();
+        long start = System.nanoTime();
+        List<Assignment> overdue = mongoTemplate.find(overdueQuery(), Assignment.class);
+        for (Assignment assignment : overdue) {
+            assignment.setStatus(AssignmentStatus.OVERDUE);
+            mongoTemplate.save(assignment);
+        }
+        double perDocumentMs = (System.nanoTime() - start) / 1_000_000.0;
+        long perDocumentChanged = overdue.size();
+
+        loadAssignments();
+        start = System.nanoTime();
+        long updated = new AssignmentRepositoryImpl(mongoTemplate).markOverdue(now);
+        double updateMultiMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("%n%-28s %12s %10s%n", "overdue transition (" + ASSIGNMENTS + ")", "changed", "ms");
+        System.out.printf("%-28s %12d %10.1f%n", "find + save per document", perDocumentChanged, perDocumentMs);
+        System.out.printf("%-28s %12d %10.1f%n", "updateMulti", updated, updateMultiMs);
+
+        assertThat(updated).isEqualTo(expectedOverdue).isEqualTo(perDocumentChanged);
+        assertThat(mongoTemplate.count(overdueQuery(), Assignment.class)).isZero();
+        assertThat(updateMultiMs).isLessThan(perDocumentMs);
+    }
+
+    // Same filter as the old findOverdueAssignments, minus assignments it had already marked
+    private static Query overdueQuery() {
+        return Query.query(Criteria.where("dueDate").lt(now)
+                .and("status").nin(AssignmentStatus.COMPLETED, AssignmentStatus.OVERDUE));
+    }
+
+    // Replaces the collection with the same 100k assignments; returns how many are overdue
+    private static long loadAssignments() {
+        mongoTemplate.dropCollection(Assignment.class);
+        AssignmentStatus[] statuses = {AssignmentStatus.PENDING, AssignmentStatus.IN_PROGRESS, AssignmentStatus.COMPLETED};
+        for (int from = 0; from < ASSIGNMENTS; from += CHUNK) {
+            List<Assignment> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < from + CHUNK; i++) {
+                LocalDateTime dueDate = i % 5 == 0 ? now.minusDays(1 + i % 30) : now.plusDays(1 + i % 30);
+                Assignment assignment = new Assignment("Assignment " + i, dueDate, "C" + (i % 400), "Problem set " + i);
+                assignment.setStatus(statuses[i % 3]);
+                chunk.add(assignment);
+            }
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Assignment.class).insert(chunk).execute();
+        }
+        return mongoTemplate.count(overdueQuery(), Assignment.class);
+    }
+}
@@ -63,6 +63,12 @@ class AssignmentServiceIntegrationTest {
         wireMockServer.start();
         registry.add("services.course-service.url", () -> "http://localhost:8089");
 
+        // Overdue transitions are tested through the endpoint here; OverdueSweeperIntegrationTest covers the sweeper
+        registry.add("overdue-sweeper.enabled", () -> "false");
+
+        // Startup fails if any repository query would scan the whole collection
+        registry.add("assignment-indexes.plan-check", () -> "fail");
+
         // Keycloak configuration
         String keycloakUrl = keycloak.getAuthServerUrl();
         registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
@@ -434,4 +440,55 @@ class AssignmentServiceIntegrationTest {
         // In a real scenario, you would wait for token expiry and test again
         // For now, we just document that tokens expire after the configured time
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(11)
+    void shouldMarkOverdueAssignmentsInOneUpdate() {
+        // Given
+        Assignment late = assignmentRepository.save(
+                new Assignment("Late", LocalDateTime.now().minusDays(2), "CS101", "Past due"));
+        Assignment completed = new Assignment("Done", LocalDateTime.now().minusDays(2), "CS101", "Past due but done");
+        completed.setStatus(AssignmentStatus.COMPLETED);
+        completed = assignmentRepository.save(completed);
+        Assignment upcoming = assignmentRepository.save(
+                new Assignment("Upcoming", LocalDateTime.now().plusDays(2), "CS101", "Not due yet"));
+
+        HttpEntity<Void> request = new HttpEntity<>(createAuthHeaders(getAccessToken("admin", "admin123")));
+
+        // When
+        ResponseEntity<Map> response = restTemplate.exchange(
+                baseUrl + "/update-overdue", HttpMethod.POST, request, Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((Number) response.getBody().get("updated")).longValue()).isEqualTo(1);
+        Assignment marked = assignmentRepository.findById(late.getAssignmentId()).orElseThrow();
+        assertThat(marked.getStatus()).isEqualTo(AssignmentStatus.OVERDUE);
+        assertThat(marked.getTitle()).isEqualTo("Late");
+        assertThat(assignmentRepository.findById(completed.getAssignmentId()).orElseThrow().getStatus())
+                .isEqualTo(AssignmentStatus.COMPLETED);
+        assertThat(assignmentRepository.findById(upcoming.getAssignmentId()).orElseThrow().getStatus())
+                .isEqualTo(AssignmentStatus.PENDING);
+
+        // When - Run again with nothing new past due
+        ResponseEntity<Map> again = restTemplate.exchange(
+                baseUrl + "/update-overdue", HttpMethod.POST, request, Map.class);
+
+        // Then
+        assertThat(((Number) again.getBody().get("updated")).longValue()).isZero();
+    }
+
+    @Test
+    @Order(12)
+    void shouldFindAssignmentsByCourseCodeIgnoringCase() {
+        // Given
+        assignmentRepository.save(new Assignment("Upper", LocalDateTime.now().plusDays(1), "CS101", "Stored upper case"));
+        assignmentRepository.save(new Assignment("Other", LocalDateTime.now().plusDays(1), "CS102", "Different course"));
+
+        // When - Served by the collation index rather than a regex scan
+        List<Assignment> found = assignmentRepository.findByCourseCodeIgnoreCase("cs101");
+
+        // Then
+        assertThat(found).extracting(Assignment::getTitle).containsExactly("Upper");
+    }
+}
@@ -81,6 +81,10 @@ class CircuitBreakerIntegrationTest {
 
         registry.add("resilience4j.retry.configs.default.max-attempts", () -> "2");
         registry.add("resilience4j.retry.configs.default.wait-duration", () -> "500ms");
+
+        // Every validation goes to the (mocked) course service, so each one is a circuit breaker call
+        registry.add("services.course-service.validation-cache.valid-ttl", () -> "0s");
+        registry.add("services.course-service.validation-cache.invalid-ttl", () -> "0s");
     }
 
     @LocalServerPort
@@ -0,0 +1,191 @@
+package com.academicplanner.assignmentservice.integration;
+
+import com.academicplanner.assignmentservice.AssignmentServiceApplication;
+import com.academicplanner.assignmentservice.client.CourseServiceClient;
+import com.academicplanner.assignmentservice.dto.shared.ValidationResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import dasniko.testcontainers.keycloak.KeycloakContainer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(classes = AssignmentServiceApplication.class)
+@Testcontainers
+class CourseValidationCacheIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:6.0.6")
+            .withExposedPorts(27017);
+
+    @Container
+    static KeycloakContainer keycloak = new KeycloakContainer("quay.io/keycloak/keycloak:23.0.0")
+            .withRealmImportFile("keycloak/test-realm.json");
+
+    private static WireMockServer wireMockServer;
+    private static final String TEST_REALM = "test-realm";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        registry.add("services.course-service.url", wireMockServer::baseUrl);
+        registry.add("services.course-service.change-feed.reconnect-delay", () -> "200ms");
+
+        String keycloakUrl = keycloak.getAuthServerUrl();
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM + "/protocol/openid-connect/certs");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+        registry.add("spring.security.oauth2.client.provider.keycloak.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+
+        registry.add("overdue-sweeper.enabled", () -> "false");
+    }
+
+    @Autowired
+    private CourseServiceClient courseServiceClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer.resetAll();
+        circuitBreakerRegistry.circuitBreaker("courseService").reset();
+        // A feed with nothing to report; the subscriber reconnects whenever it ends
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/courses/feed"))
+                .atPriority(10)
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withBody("")));
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void shouldAnswerRepeatValidationsFromCache() {
+        // Given
+        stubCourse("CS201");
+        double hitsBefore = cacheCount("hit");
+
+        // When
+        ValidationResponse first = courseServiceClient.validateCourseCode("CS201");
+        ValidationResponse second = courseServiceClient.validateCourseCode("CS201");
+        ValidationResponse reactive = courseServiceClient.validateCourseCodeReactive("CS201").block();
+
+        // Then - Only the first went to course-service
+        assertThat(first.isValid()).isTrue();
+        assertThat(second.isValid()).isTrue();
+        assertThat(reactive.isValid()).isTrue();
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/courses/code/CS201")));
+        assertThat(cacheCount("hit") - hitsBefore).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheFallbackAnswers() {
+        // Given - course-service failing, so the pattern fallback answers
+        wireMockServer.stubFor(get(urlEqualTo("/api/courses/code/CS202"))
+                .willReturn(aResponse().withStatus(500)));
+
+        // When
+        ValidationResponse first = courseServiceClient.validateCourseCode("CS202");
+        ValidationResponse second = courseServiceClient.validateCourseCode("CS202");
+
+        // Then - Both asked course-service
+        assertThat(first.isValid()).isTrue();
+        assertThat(second.isValid()).isTrue();
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/courses/code/CS202")));
+    }
+
+    @Test
+    void shouldNotCacheCodeFilterMisses() {
+        // Given - An empty filter, so every code misses
+        wireMockServer.stubFor(get(urlEqualTo("/api/courses/codes/filter"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"version\":\"empty\",\"hash\":\"fnv1a64-fmix\",\"numBits\":64," +
+                                "\"numHashes\":1,\"count\":0,\"bits\":\"AAAAAAAAAAA=\"}")));
+        double hitsBefore = cacheCount("hit");
+
+        // When
+        ValidationResponse first = courseServiceClient.validateCourseCode("CS204");
+        ValidationResponse second = courseServiceClient.validateCourseCode("CS204");
+
+        // Then - Rejected without a lookup, each time after confirming the filter
+        assertThat(first.isValid()).isFalse();
+        assertThat(second.isValid()).isFalse();
+        assertThat(cacheCount("hit") - hitsBefore).isZero();
+        wireMockServer.verify(0, getRequestedFor(urlEqualTo("/api/courses/code/CS204")));
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/courses/codes/filter")));
+    }
+
+    @Test
+    void shouldDropCachedValidationWhenCourseChanges() {
+        // Given - A cached validation
+        stubCourse("CS203");
+        courseServiceClient.validateCourseCode("CS203");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/courses/code/CS203")));
+
+        // When - course-service reports the course was updated
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/courses/feed"))
+                .atPriority(1)
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withBody("""
+                                id:7
+                                event:updated
+                                data:{"sequence":7,"type":"UPDATED","courseId":3,"courseCode":"CS203","previousCourseCode":null}
+
+                                """)));
+
+        // Then - The next validation goes back to course-service, and reconnects resume after event 7
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() -> {
+            courseServiceClient.validateCourseCode("CS203");
+            wireMockServer.verify(moreThanOrExactly(2), getRequestedFor(urlEqualTo("/api/courses/code/CS203")));
+        });
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() ->
+                wireMockServer.verify(moreThanOrExactly(1), getRequestedFor(urlPathEqualTo("/api/courses/feed"))
+                        .withHeader("Last-Event-ID", equalTo("7"))));
+    }
+
+    private void stubCourse(String courseCode) {
+        wireMockServer.stubFor(get(urlEqualTo("/api/courses/code/" + courseCode))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"courseCode\":\"" + courseCode + "\",\"title\":\"Cached Course\"}")));
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("course.validation.cache").tag("result", result).counter().count();
+    }
+}
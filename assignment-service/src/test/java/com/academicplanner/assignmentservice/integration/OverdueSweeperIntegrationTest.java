@@ -0,0 +1,107 @@
+package com.academicplanner.assignmentservice.integration;
+
+import com.academicplanner.assignmentservice.AssignmentServiceApplication;
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import com.academicplanner.assignmentservice.repository.AssignmentRepository;
+import com.academicplanner.assignmentservice.service.AssignmentService;
+import dasniko.testcontainers.keycloak.KeycloakContainer;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(classes = AssignmentServiceApplication.class)
+@Testcontainers
+class OverdueSweeperIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:6.0.6")
+            .withExposedPorts(27017);
+
+    @Container
+    static KeycloakContainer keycloak = new KeycloakContainer("quay.io/keycloak/keycloak:23.0.0")
+            .withRealmImportFile("keycloak/test-realm.json");
+
+    private static final String TEST_REALM = "test-realm";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+
+        String keycloakUrl = keycloak.getAuthServerUrl();
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM + "/protocol/openid-connect/certs");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+        registry.add("spring.security.oauth2.client.provider.keycloak.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+
+        // Short refill so writes that bypass the wheel are picked up quickly
+        registry.add("overdue-sweeper.refill-interval", () -> "PT2S");
+
+        // Startup fails if any repository query would scan the whole collection
+        registry.add("assignment-indexes.plan-check", () -> "fail");
+    }
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepository.deleteAll();
+    }
+
+    @Test
+    void shouldMarkAssignmentOverdueSoonAfterItsDueDate() {
+        // Given - Saved through the service, so the wheel learns about it straight away
+        Assignment dueSoon = assignmentService.updateAssignment(
+                new Assignment("Due soon", LocalDateTime.now().plusSeconds(2), "CS101", "Tracked on write"));
+        Assignment later = assignmentService.updateAssignment(
+                new Assignment("Later", LocalDateTime.now().plusDays(1), "CS101", "Not due yet"));
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(assignmentRepository.findById(dueSoon.getAssignmentId()).orElseThrow().getStatus())
+                        .isEqualTo(AssignmentStatus.OVERDUE));
+        assertThat(assignmentRepository.findById(later.getAssignmentId()).orElseThrow().getStatus())
+                .isEqualTo(AssignmentStatus.PENDING);
+        assertThat(mongoTemplate.findById("overdue-sweeper", Document.class, "scheduler_leases")).isNotNull();
+    }
+
+    @Test
+    void shouldPickUpAssignmentsWrittenElsewhereOnRefill() {
+        // Given - Written straight to the database, as another replica would
+        Assignment pastDue = assignmentRepository.save(
+                new Assignment("Past due", LocalDateTime.now().minusHours(1), "CS101", "Missed by the wheel"));
+        Assignment completed = new Assignment("Done", LocalDateTime.now().minusHours(1), "CS101", "Already handed in");
+        completed.setStatus(AssignmentStatus.COMPLETED);
+        Assignment savedCompleted = assignmentRepository.save(completed);
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(assignmentRepository.findById(pastDue.getAssignmentId()).orElseThrow().getStatus())
+                        .isEqualTo(AssignmentStatus.OVERDUE));
+        assertThat(assignmentRepository.findById(savedCompleted.getAssignmentId()).orElseThrow().getStatus())
+                .isEqualTo(AssignmentStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,191 @@
+package com.academicplanner.assignmentservice.integration;
+
+import com.academicplanner.assignmentservice.AssignmentServiceApplication;
+import com.academicplanner.assignmentservice.entity.Assignment;
+import com.academicplanner.assignmentservice.entity.AssignmentStatus;
+import com.academicplanner.assignmentservice.repository.AssignmentRepository;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import dasniko.testcontainers.keycloak.KeycloakContainer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = AssignmentServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class ReactiveAssignmentIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:6.0.6")
+            .withExposedPorts(27017);
+
+    @Container
+    static KeycloakContainer keycloak = new KeycloakContainer("quay.io/keycloak/keycloak:23.0.0")
+            .withRealmImportFile("keycloak/test-realm.json");
+
+    private static WireMockServer wireMockServer;
+    private static final String TEST_REALM = "test-realm";
+    private static final String TEST_CLIENT_ID = "assignment-service";
+    private static final String TEST_CLIENT_SECRET = "assignment-service-secret";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        registry.add("services.course-service.url", wireMockServer::baseUrl);
+
+        String keycloakUrl = keycloak.getAuthServerUrl();
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM + "/protocol/openid-connect/certs");
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+        registry.add("spring.security.oauth2.client.provider.keycloak.issuer-uri",
+                () -> keycloakUrl + "/realms/" + TEST_REALM);
+
+        registry.add("assignment-reactive.enabled", () -> "true");
+        registry.add("overdue-sweeper.enabled", () -> "false");
+        registry.add("assignment-indexes.plan-check", () -> "fail");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private String baseUrl;
+    private HttpHeaders adminHeaders;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/reactive/assignments";
+        assignmentRepository.deleteAll();
+        wireMockServer.resetAll();
+        circuitBreakerRegistry.circuitBreaker("courseService").reset();
+
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setContentType(MediaType.APPLICATION_JSON);
+        adminHeaders.setBearerAuth(getAccessToken("admin", "admin123"));
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void shouldCreateAndReadAssignmentWhenCourseExists() {
+        // Given
+        wireMockServer.stubFor(get(urlEqualTo("/api/courses/code/CS101"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"courseCode\":\"CS101\",\"title\":\"Introduction to Programming\"}")));
+
+        // When
+        ResponseEntity<Assignment> created = restTemplate.exchange(baseUrl, HttpMethod.POST,
+                new HttpEntity<>(assignment("CS101"), adminHeaders), Assignment.class);
+
+        // Then
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String id = created.getBody().getAssignmentId();
+        assertThat(assignmentRepository.findById(id)).isPresent();
+
+        ResponseEntity<Assignment> fetched = restTemplate.exchange(baseUrl + "/" + id, HttpMethod.GET,
+                new HttpEntity<>(adminHeaders), Assignment.class);
+        assertThat(fetched.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(fetched.getBody().getCourseCode()).isEqualTo("CS101");
+
+        ResponseEntity<Assignment> completed = restTemplate.exchange(baseUrl + "/" + id + "/complete", HttpMethod.PATCH,
+                new HttpEntity<>(adminHeaders), Assignment.class);
+        assertThat(completed.getBody().getStatus()).isEqualTo(AssignmentStatus.COMPLETED);
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/courses/code/CS101")));
+    }
+
+    @Test
+    void shouldRejectUnknownCourseCodeWithoutRetrying() {
+        // Given - course-service doesn't know the code
+        wireMockServer.stubFor(get(urlEqualTo("/api/courses/code/CS999"))
+                .willReturn(aResponse().withStatus(404)));
+
+        // When
+        ResponseEntity<Map> response = restTemplate.exchange(baseUrl, HttpMethod.POST,
+                new HttpEntity<>(assignment("CS999"), adminHeaders), Map.class);
+
+        // Then - One lookup, and the breaker saw an answer rather than a failure
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().get("message").toString()).contains("Course code not found");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/courses/code/CS999")));
+        assertThat(circuitBreakerRegistry.circuitBreaker("courseService").getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidCourseCodeWithFallbackWhenCourseServiceFails() {
+        // Given - Every lookup fails, so the pattern fallback decides
+        wireMockServer.stubFor(get(urlPathMatching("/api/courses/code/.*"))
+                .willReturn(aResponse().withStatus(500)));
+
+        // When
+        ResponseEntity<Map> response = restTemplate.exchange(baseUrl, HttpMethod.POST,
+                new HttpEntity<>(assignment("INVALID-CODE-123"), adminHeaders), Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().get("message").toString()).contains("Course code pattern appears invalid");
+        assertThat(assignmentRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownAssignment() {
+        ResponseEntity<Assignment> response = restTemplate.exchange(baseUrl + "/507f1f77bcf86cd799439011", HttpMethod.GET,
+                new HttpEntity<>(adminHeaders), Assignment.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private static Assignment assignment(String courseCode) {
+        return new Assignment("Reactive assignment", LocalDateTime.now().plusDays(7), courseCode, "Created without blocking");
+    }
+
+    private String getAccessToken(String username, String password) {
+        String tokenUrl = keycloak.getAuthServerUrl() + "/realms/" + TEST_REALM + "/protocol/openid-connect/token";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        String body = String.format("grant_type=password&client_id=%s&client_secret=%s&username=%s&password=%s",
+                TEST_CLIENT_ID, TEST_CLIENT_SECRET, username, password);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(tokenUrl, new HttpEntity<>(body, headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (String) response.getBody().get("access_token");
+    }
+}
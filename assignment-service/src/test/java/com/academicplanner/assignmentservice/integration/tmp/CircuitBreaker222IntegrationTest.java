@@ -45,6 +45,10 @@ class CircuitBreaker222IntegrationTest {
         registry.add("resilience4j.circuitbreaker.instances.course-service.wait-duration-in-open-state", () -> "10s");
         registry.add("resilience4j.retry.instances.course-service.max-attempts", () -> "2");
         registry.add("resilience4j.retry.instances.course-service.wait-duration", () -> "500ms");
+
+        // Every validation goes to the (mocked) course service, so each one is a circuit breaker call
+        registry.add("services.course-service.validation-cache.valid-ttl", () -> "0s");
+        registry.add("services.course-service.validation-cache.invalid-ttl", () -> "0s");
     }
 
     @Autowired
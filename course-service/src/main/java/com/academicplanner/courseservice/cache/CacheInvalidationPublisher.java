@@ -0,0 +1,10 @@
+package com.academicplanner.courseservice.cache;
+
+import org.springframework.lang.Nullable;
+
+@FunctionalInterface
+public interface CacheInvalidationPublisher {
+
+    // A null key means the whole cache was cleared
+    void publish(String cacheName, @Nullable String key);
+}
@@ -0,0 +1,8 @@
+package com.academicplanner.courseservice.cache;
+
+public interface CacheLoadLock {
+
+    boolean tryAcquire(String cacheName, String key);
+
+    void release(String cacheName, String key);
+}
@@ -0,0 +1,170 @@
+package com.academicplanner.courseservice.cache;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.search.CourseCodeFilter;
+import com.academicplanner.courseservice.search.CourseSearchIndex;
+import com.academicplanner.courseservice.search.CourseSuggestionTrie;
+import com.academicplanner.courseservice.service.CatalogueVersionService;
+import com.academicplanner.courseservice.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fills the list caches, their encoded response bodies and the in-memory search structures once the
+// application is up, so the first requests after a deploy don't all miss at once. Until it finishes the
+// cacheWarmup health indicator keeps the instance out of service for Eureka and the readiness probe.
+@Component
+public class CacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+
+    private final CourseService courseService;
+    private final CatalogueVersionService catalogueVersionService;
+    private final CourseResponseCache courseResponseCache;
+    private final CourseSearchIndex courseSearchIndex;
+    private final CourseSuggestionTrie courseSuggestionTrie;
+    private final CourseCodeFilter courseCodeFilter;
+    private final CourseCacheProperties.Warmup settings;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean complete;
+    private volatile String failure;
+
+    public CacheWarmer(CourseService courseService,
+                       CatalogueVersionService catalogueVersionService,
+                       CourseResponseCache courseResponseCache,
+                       CourseSearchIndex courseSearchIndex,
+                       CourseSuggestionTrie courseSuggestionTrie,
+                       CourseCodeFilter courseCodeFilter,
+                       CourseCacheProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.courseService = courseService;
+        this.catalogueVersionService = catalogueVersionService;
+        this.courseResponseCache = courseResponseCache;
+        this.courseSearchIndex = courseSearchIndex;
+        this.courseSuggestionTrie = courseSuggestionTrie;
+        this.courseCodeFilter = courseCodeFilter;
+        this.settings = properties.getWarmup();
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Off the main thread: the web server is already listening, the health indicator holds traffic back
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    void warmUp() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "success";
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getParallelism(), workerFactory());
+        try {
+            // Read before loading: a write in between then leaves the bodies under the old version
+            Long version = catalogueVersionService.current();
+            // One catalogue load feeds the index, the trie, the code filter and the department list
+            List<Course> catalogue = courseService.getAllCourses();
+            Map<String, String> departments = new LinkedHashMap<>();
+            catalogue.forEach(course -> departments.putIfAbsent(
+                    CourseCacheInvalidator.departmentKey(course.getDepartment()), course.getDepartment()));
+
+            List<CompletableFuture<?>> tasks = new ArrayList<>();
+            tasks.add(CompletableFuture.runAsync(() -> courseSearchIndex.build(catalogue), executor));
+            tasks.add(CompletableFuture.runAsync(() -> courseSuggestionTrie.build(catalogue), executor));
+            tasks.add(CompletableFuture.runAsync(() -> courseCodeFilter.build(catalogue), executor));
+            tasks.add(CompletableFuture.runAsync(
+                    () -> courseResponseCache.get("courses", version, () -> catalogue), executor));
+            tasks.add(CompletableFuture.runAsync(
+                    () -> courseResponseCache.get("departments", version, courseService::getAllDepartments), executor));
+            tasks.add(CompletableFuture.runAsync(
+                    () -> courseResponseCache.get("departmentStats", version, courseService::getDepartmentStats), executor));
+            departments.forEach((key, department) -> tasks.add(CompletableFuture.runAsync(
+                    () -> courseResponseCache.get("department:" + key, version,
+                            () -> courseService.getCoursesByDepartment(department)), executor)));
+
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Cache warm-up loaded {} courses across {} departments", catalogue.size(), departments.size());
+        } catch (TimeoutException e) {
+            result = "timeout";
+            failure = "Timed out after " + settings.getTimeout();
+            logger.warn("Cache warm-up did not finish within {}; serving with partially warm caches", settings.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = "failure";
+            failure = "Interrupted";
+        } catch (Exception e) {
+            // Cold caches are slower, not wrong; the instance still goes into service
+            result = "failure";
+            failure = e.getMessage();
+            logger.warn("Cache warm-up failed: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+            long nanos = sample.stop(Timer.builder("course.cache.warmup")
+                    .description("Time from application ready until caches were warm")
+                    .tag("result", result)
+                    .register(meterRegistry));
+            complete = true;
+            logger.info("Cache warm-up {} in {} ms", result, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        if (!courseSuggestionTrie.isReady()) {
+            Thread thread = new Thread(this::buildSuggestionTrie, "suggestion-trie-build");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // Suggestions come from the database until the trie exists, so keep trying with a growing delay
+    private void buildSuggestionTrie() {
+        Duration delay = settings.getRetryDelay();
+        while (!courseSuggestionTrie.isReady()) {
+            try {
+                Thread.sleep(delay);
+                courseSuggestionTrie.build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Could not build course suggestion trie, retrying in {}: {}", delay, e.getMessage());
+                Duration doubled = delay.multipliedBy(2);
+                delay = doubled.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : doubled;
+            }
+        }
+    }
+
+    private static ThreadFactory workerFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
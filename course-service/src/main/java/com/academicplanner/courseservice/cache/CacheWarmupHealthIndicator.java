@@ -0,0 +1,27 @@
+package com.academicplanner.courseservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Reported as "cacheWarmup"; part of the readiness group and, through the Eureka health check, of the
+// status peers and the gateway see
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+
+    @Override
+    public Health health() {
+        if (!cacheWarmer.isComplete()) {
+            return Health.outOfService().withDetail("warmup", "in progress").build();
+        }
+        Health.Builder builder = Health.up().withDetail("warmup", "complete");
+        if (cacheWarmer.getFailure() != null) {
+            builder.withDetail("error", cacheWarmer.getFailure());
+        }
+        return builder.build();
+    }
+}
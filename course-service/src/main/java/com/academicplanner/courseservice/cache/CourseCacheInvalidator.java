@@ -0,0 +1,204 @@
+package com.academicplanner.courseservice.cache;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Component
+public class CourseCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCacheInvalidator.class);
+
+    public static final String COURSES = "courses";
+    public static final String COURSES_BY_DEPARTMENT = "coursesByDepartment";
+    public static final String COURSES_BY_KEYWORD = "coursesByKeyword";
+    public static final String DEPARTMENTS = "departments";
+    public static final String DEPARTMENT_STATS = "departmentStats";
+
+    // Key of the single entry held by the no-argument list caches
+    public static final String ALL = "all";
+
+    private final CacheManager cacheManager;
+    private final CourseEntityCache courseEntityCache;
+    private final boolean fullTextSearch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CourseCacheInvalidator(CacheManager cacheManager,
+                                  CourseEntityCache courseEntityCache,
+                                  @Value("${course-search.full-text.enabled:true}") boolean fullTextSearch) {
+        this.cacheManager = cacheManager;
+        this.courseEntityCache = courseEntityCache;
+        this.fullTextSearch = fullTextSearch;
+    }
+
+    public static String departmentKey(String department) {
+        return department.toLowerCase(Locale.ROOT);
+    }
+
+    // Serialised so the evictions and entity updates of concurrent writes on this replica don't interleave.
+    // A lock rather than synchronized: the Redis round trips inside would pin a virtual thread's carrier.
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.remote()) {
+            // The writing replica already updated Redis and broadcast the L1 evictions
+            return;
+        }
+        lock.lock();
+        try {
+            applyChange(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // One clear for the whole import; entries reload on demand, as after a restart
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        lock.lock();
+        try {
+            clearAll();
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Cleared course caches after importing {} courses", event.courses().size());
+    }
+
+    private void applyChange(CourseChangedEvent event) {
+        Course before = event.before();
+        Course after = event.after();
+        logger.debug("Invalidating course caches for {} of {}", event.type(),
+                after != null ? after.getCourseCode() : before != null ? before.getCourseCode() : "unknown course");
+
+        if (before == null && after == null) {
+            return;
+        }
+        if (event.type() == CourseChangedEvent.Type.UPDATED && before == null) {
+            // Without the previous state we can't tell which entries held the old values
+            clearAll();
+            return;
+        }
+
+        evictCatalogue();
+        evictDepartmentLists(before, after);
+        evictDepartments(before, after);
+        evictDepartmentStats(before, after);
+        evictKeywordSearches(before, after);
+        updateCourseEntries(before, after);
+    }
+
+    // Evicted rather than patched: the list is shared in Redis, and a read-modify-write from two replicas
+    // writing at once would lose one of the changes until the entry expired
+    private void evictCatalogue() {
+        cache(COURSES).evict(ALL);
+    }
+
+    private void evictDepartmentLists(@Nullable Course before, @Nullable Course after) {
+        Cache cache = cache(COURSES_BY_DEPARTMENT);
+        Stream.of(before, after)
+                .filter(Objects::nonNull)
+                .map(course -> departmentKey(course.getDepartment()))
+                .distinct()
+                .forEach(cache::evict);
+    }
+
+    // A single small entry, reloaded by one grouped query; only kept when neither department nor credits moved
+    private void evictDepartmentStats(@Nullable Course before, @Nullable Course after) {
+        if (before != null && after != null
+                && before.getDepartment().equals(after.getDepartment())
+                && Objects.equals(before.getCredits(), after.getCredits())) {
+            return;
+        }
+        cache(DEPARTMENT_STATS).evict(ALL);
+    }
+
+    // Evicted only when the set of departments may have changed; like the catalogue, never patched in place
+    private void evictDepartments(@Nullable Course before, @Nullable Course after) {
+        if (before != null && after != null && before.getDepartment().equals(after.getDepartment())) {
+            return;
+        }
+        cache(DEPARTMENTS).evict(ALL);
+    }
+
+    // With full-text search the cached results come from CourseRepository.searchRanked, which also
+    // matches stemmed words ("algorithms" finds "algorithm"); no test here can tell which of those
+    // results held the course, so they all go
+    private void evictKeywordSearches(@Nullable Course before, @Nullable Course after) {
+        Cache cache = cache(COURSES_BY_KEYWORD);
+        if (fullTextSearch) {
+            cache.clear();
+            return;
+        }
+        Collection<String> keywords = cachedKeys(cache);
+        if (keywords == null) {
+            cache.clear();
+            return;
+        }
+        keywords.stream()
+                .filter(keyword -> matches(before, keyword) || matches(after, keyword))
+                .forEach(cache::evict);
+    }
+
+    // The written course replaces whatever was cached under its id and code, including a cached
+    // "not found"; a code it no longer has is dropped
+    private void updateCourseEntries(@Nullable Course before, @Nullable Course after) {
+        if (after == null) {
+            courseEntityCache.evict(before);
+            return;
+        }
+        courseEntityCache.put(after);
+        if (before != null && before.getCourseCode() != null && !before.getCourseCode().equals(after.getCourseCode())) {
+            courseEntityCache.evictCode(before.getCourseCode());
+        }
+    }
+
+    private void clearAll() {
+        Stream.of(COURSES, COURSES_BY_DEPARTMENT, COURSES_BY_KEYWORD, DEPARTMENTS, DEPARTMENT_STATS)
+                .map(this::cache)
+                .forEach(Cache::clear);
+        courseEntityCache.clear();
+    }
+
+    // Same semantics as CourseRepository.findByKeyword, which fills the cache when full-text search is off
+    static boolean matches(@Nullable Course course, String keyword) {
+        if (course == null) {
+            return false;
+        }
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return Stream.of(course.getTitle(), course.getDescription(), course.getCourseCode())
+                .filter(Objects::nonNull)
+                .anyMatch(field -> field.toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Nullable
+    private Collection<String> cachedKeys(Cache cache) {
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            return twoTierCacheManager.remoteKeys(cache.getName());
+        }
+        if (cache.getNativeCache() instanceof Map<?, ?> nativeCache) {
+            return nativeCache.keySet().stream().map(String::valueOf).toList();
+        }
+        return null;
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache not configured: " + name);
+    }
+}
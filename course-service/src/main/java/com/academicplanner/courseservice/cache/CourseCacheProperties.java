@@ -0,0 +1,88 @@
+package com.academicplanner.courseservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.support.NullValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "course-cache")
+public class CourseCacheProperties {
+
+    // Redis pub/sub channel used to drop L1 entries on the other replicas
+    private String invalidationChannel = "course-cache:invalidation";
+
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    private LoadLock loadLock = new LoadLock();
+
+    // Threads that reload entries inside their refresh window
+    private int refreshThreads = 2;
+
+    private Response response = new Response();
+
+    private Warmup warmup = new Warmup();
+
+    public CacheSpec spec(String cacheName) {
+        return caches.getOrDefault(cacheName, new CacheSpec());
+    }
+
+    @Data
+    public static class CacheSpec {
+        // Redis (L2) entry TTL and value encoding
+        private Duration ttl = Duration.ofMinutes(10);
+        // TTL of a cached "not found"; defaults to ttl
+        private Duration negativeTtl;
+        private ValueFormat valueFormat = ValueFormat.JSON;
+        // Binary values at least this many bytes are deflated; 0 disables compression
+        private int compressionThreshold = 1024;
+        // When set, hits this close to the Redis expiry return the cached value and reload it in the background
+        private Duration refreshWindow;
+        // In-heap (L1) settings
+        private Duration localTtl = Duration.ofMinutes(1);
+        // Weight is the number of cached elements, so a catalogue list counts once per course
+        private long localMaxWeight = 10_000;
+
+        public Duration ttlFor(@Nullable Object value) {
+            boolean negative = value == null || value instanceof NullValue;
+            return negative && negativeTtl != null ? negativeTtl : ttl;
+        }
+    }
+
+    public enum ValueFormat {
+        JSON,
+        BINARY
+    }
+
+    @Data
+    public static class Response {
+        // Encoded bodies of the hottest list endpoints, kept per catalogue version
+        private boolean enabled = true;
+        private long maxEntries = 256;
+        // Upper bound on how long a body can outlive a missed course event
+        private Duration ttl = Duration.ofMinutes(1);
+        // Also keep a gzip copy for clients that accept it
+        private boolean gzip = true;
+    }
+
+    @Data
+    public static class Warmup {
+        // Loads run this many at a time; the instance reports ready when they finish or time out
+        private int parallelism = 4;
+        private Duration timeout = Duration.ofMinutes(2);
+        // First wait before rebuilding the suggestion trie after a failed warm-up (doubles up to 5m)
+        private Duration retryDelay = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class LoadLock {
+        // Loads are always coalesced per instance; this adds a short Redis lock across replicas
+        private boolean enabled = false;
+        private Duration lease = Duration.ofSeconds(5);
+        private Duration pollInterval = Duration.ofMillis(25);
+    }
+}
@@ -0,0 +1,123 @@
+package com.academicplanner.courseservice.cache;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Smile-encoded cache values without per-entry {@code @class} metadata. The first byte flags
+ * compression and the second names the value type; anything that isn't a course, a list of
+ * courses or a list of strings falls back to the generic JSON encoding behind the same header.
+ * Entries written by the JSON serializer are still readable.
+ */
+public class CourseCacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final byte PLAIN = 0x01;
+    private static final byte DEFLATED = 0x02;
+
+    private static final byte COURSE = 0x01;
+    private static final byte COURSE_LIST = 0x02;
+    private static final byte STRING_LIST = 0x03;
+    private static final byte EMPTY_LIST = 0x04;
+    private static final byte GENERIC = 0x7F;
+
+    private final SmileMapper smileMapper = new SmileMapper();
+    private final GenericJackson2JsonRedisSerializer genericSerializer = new GenericJackson2JsonRedisSerializer();
+    private final JavaType courseListType = smileMapper.getTypeFactory().constructCollectionType(List.class, Course.class);
+    private final JavaType stringListType = smileMapper.getTypeFactory().constructCollectionType(List.class, String.class);
+    private final int compressionThreshold;
+
+    // A threshold of zero or less disables compression
+    public CourseCacheValueSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte type = typeOf(value);
+        try {
+            byte[] payload = type == GENERIC ? genericSerializer.serialize(value) : smileMapper.writeValueAsBytes(value);
+            boolean deflate = compressionThreshold > 0 && payload.length >= compressionThreshold;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 2);
+            bytes.write(deflate ? DEFLATED : PLAIN);
+            bytes.write(type);
+            if (deflate) {
+                try (OutputStream out = new DeflaterOutputStream(bytes)) {
+                    out.write(payload);
+                }
+            } else {
+                bytes.write(payload);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != PLAIN && bytes[0] != DEFLATED) {
+            // Written by GenericJackson2JsonRedisSerializer before this cache switched format
+            return genericSerializer.deserialize(bytes);
+        }
+        try {
+            byte[] payload = bytes[0] == DEFLATED ? inflate(bytes) : Arrays.copyOfRange(bytes, 2, bytes.length);
+            return switch (bytes[1]) {
+                case COURSE -> smileMapper.readValue(payload, Course.class);
+                case COURSE_LIST -> smileMapper.readValue(payload, courseListType);
+                case STRING_LIST -> smileMapper.readValue(payload, stringListType);
+                case EMPTY_LIST -> List.of();
+                case GENERIC -> genericSerializer.deserialize(payload);
+                default -> throw new SerializationException("Unknown cache value type " + bytes[1]);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value instanceof Course) {
+            return COURSE;
+        }
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            if (list.stream().allMatch(Course.class::isInstance)) {
+                return COURSE_LIST;
+            }
+            if (list.stream().allMatch(String.class::isInstance)) {
+                return STRING_LIST;
+            }
+        }
+        return GENERIC;
+    }
+
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2))) {
+            return in.readAllBytes();
+        }
+    }
+}
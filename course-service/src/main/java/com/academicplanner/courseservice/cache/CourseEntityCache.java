@@ -0,0 +1,99 @@
+package com.academicplanner.courseservice.cache;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Single courses, cached under both their id and their code. Whichever key a load comes in by, the
+// course is written under both, so a code lookup from another service is warm after any id lookup
+// and vice versa. Both keys go out in one write, so an eviction can't land between them and leave
+// one key holding the course the other no longer does. A lookup that finds nothing caches
+// "not found" under the requested key only.
+@Component
+public class CourseEntityCache {
+
+    public static final String BY_ID = "courseById";
+    public static final String BY_CODE = "courseByCode";
+
+    private final CacheManager cacheManager;
+    private final CourseRepository courseRepository;
+
+    public CourseEntityCache(CacheManager cacheManager, CourseRepository courseRepository) {
+        this.cacheManager = cacheManager;
+        this.courseRepository = courseRepository;
+    }
+
+    public Optional<Course> getById(Long id) {
+        Course course = cache(BY_ID).get(id, () -> {
+            Course loaded = courseRepository.findById(id).orElse(null);
+            if (loaded != null) {
+                put(loaded);
+            }
+            return loaded;
+        });
+        return Optional.ofNullable(course);
+    }
+
+    public Optional<Course> getByCode(String courseCode) {
+        Course course = cache(BY_CODE).get(courseCode, () -> {
+            Course loaded = courseRepository.findByCourseCode(courseCode).orElse(null);
+            if (loaded != null) {
+                put(loaded);
+            }
+            return loaded;
+        });
+        return Optional.ofNullable(course);
+    }
+
+    // Both keys in one Redis transaction where the cache manager supports it
+    public void put(Course course) {
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            twoTierCacheManager.putAll(Map.of(
+                    BY_ID, Map.of(String.valueOf(course.getId()), course),
+                    BY_CODE, Map.of(course.getCourseCode(), course)));
+            return;
+        }
+        cache(BY_ID).put(course.getId(), course);
+        cache(BY_CODE).put(course.getCourseCode(), course);
+    }
+
+    public void putAll(Map<Long, Course> byId, Map<String, Course> byCode) {
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            Map<String, Course> idEntries = new HashMap<>();
+            byId.forEach((id, course) -> idEntries.put(String.valueOf(id), course));
+            twoTierCacheManager.putAll(Map.of(BY_ID, idEntries, BY_CODE, byCode));
+            return;
+        }
+        byId.forEach(cache(BY_ID)::put);
+        byCode.forEach(cache(BY_CODE)::put);
+    }
+
+    public void evict(Course course) {
+        if (course.getId() != null) {
+            cache(BY_ID).evict(course.getId());
+        }
+        if (course.getCourseCode() != null) {
+            cache(BY_CODE).evict(course.getCourseCode());
+        }
+    }
+
+    public void evictCode(String courseCode) {
+        cache(BY_CODE).evict(courseCode);
+    }
+
+    public void clear() {
+        cache(BY_ID).clear();
+        cache(BY_CODE).clear();
+    }
+
+    Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache not configured: " + name);
+    }
+}
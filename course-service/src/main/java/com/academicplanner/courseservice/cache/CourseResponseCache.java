@@ -0,0 +1,119 @@
+package com.academicplanner.courseservice.cache;
+
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Final response bytes for the hottest read endpoints, so a hit skips both the cache value
+// deserialisation and the Jackson pass. Entries are keyed by catalogue version and course events
+// (local or from peers) drop everything. A peer can see the new version before the event reaches
+// it, so a body whose load overlapped an event is served once but not kept, and every entry
+// expires after a TTL in case an event is lost.
+@Component
+public class CourseResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CourseCacheProperties.Response settings;
+    private final AsyncCache<String, EncodedBody> bodies;
+    // Bumped by every course event, so a load can tell whether one arrived while it was running
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CourseResponseCache(ObjectMapper objectMapper, CourseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.settings = properties.getResponse();
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(settings.getTtl())
+                .buildAsync();
+        this.hits = Counter.builder("course.response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("course.response.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    public boolean isGzipEnabled() {
+        return settings.isGzip();
+    }
+
+    // Concurrent misses for the same key and version share one load and one encoding. The load runs on
+    // the calling thread outside any map lock (a compute() here would pin a virtual thread's carrier for
+    // the whole cache or database round trip); the others wait on its future.
+    public EncodedBody get(String key, @Nullable Long version, Supplier<?> loader) {
+        if (!settings.isEnabled() || version == null) {
+            return encode(loader.get());
+        }
+        String versionedKey = key + "@" + version;
+        CompletableFuture<EncodedBody> load = new CompletableFuture<>();
+        CompletableFuture<EncodedBody> existing = bodies.asMap().putIfAbsent(versionedKey, load);
+        if (existing != null) {
+            hits.increment();
+            return existing.join();
+        }
+        misses.increment();
+        long loadedAt = generation.get();
+        try {
+            load.complete(encode(loader.get()));
+        } catch (Throwable e) {
+            // A failed future is dropped by the cache, so the next request retries; Errors included,
+            // or the future would stay in the cache uncompleted with every later request waiting on it
+            load.completeExceptionally(e);
+            throw e;
+        }
+        if (generation.get() != loadedAt) {
+            bodies.asMap().remove(versionedKey, load);
+        }
+        return load.join();
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        bodies.synchronous().invalidateAll();
+    }
+
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        generation.incrementAndGet();
+        bodies.synchronous().invalidateAll();
+    }
+
+    private EncodedBody encode(@Nullable Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new EncodedBody(json, settings.isGzip() ? gzip(json) : null, DigestUtils.md5DigestAsHex(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // hash is of the JSON, so both representations of one body share it
+    public record EncodedBody(byte[] json, @Nullable byte[] gzip, String hash) {
+    }
+}
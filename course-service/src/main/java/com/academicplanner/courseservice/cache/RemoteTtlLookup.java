@@ -0,0 +1,13 @@
+package com.academicplanner.courseservice.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+@FunctionalInterface
+public interface RemoteTtlLookup {
+
+    // Null when the entry is gone or has no expiry
+    @Nullable
+    Duration remainingTtl(String cacheName, String key);
+}
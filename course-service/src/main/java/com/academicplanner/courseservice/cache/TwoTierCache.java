@@ -0,0 +1,401 @@
+package com.academicplanner.courseservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final CourseCacheProperties.CacheSpec spec;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    @Nullable
+    private final CacheLoadLock loadLock;
+    private final CourseCacheProperties.LoadLock loadLockSettings;
+    @Nullable
+    private final RemoteTtlLookup remoteTtlLookup;
+    private final Executor refreshExecutor;
+    private final Map<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<String> inFlightRefreshes = ConcurrentHashMap.newKeySet();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter negativeHits;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter peerLoads;
+    private final Counter refreshes;
+
+    public TwoTierCache(String name, Cache remoteCache, CourseCacheProperties.CacheSpec spec,
+                        CacheInvalidationPublisher invalidationPublisher, @Nullable CacheLoadLock loadLock,
+                        CourseCacheProperties.LoadLock loadLockSettings, @Nullable RemoteTtlLookup remoteTtlLookup,
+                        Executor refreshExecutor, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.spec = spec;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.loadLockSettings = loadLockSettings;
+        this.remoteTtlLookup = remoteTtlLookup;
+        this.refreshExecutor = refreshExecutor;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfter(new LocalExpiry(spec.getLocalTtl()))
+                .maximumWeight(spec.getLocalMaxWeight())
+                .weigher((String key, LocalEntry entry) -> weigh(entry.value()))
+                .build();
+
+        this.localHits = requestCounter(meterRegistry, "l1", "hit");
+        this.localMisses = requestCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = requestCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = requestCounter(meterRegistry, "l2", "miss");
+        this.negativeHits = Counter.builder("course.cache.negative.hits")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.loads = loadCounter(meterRegistry, "loaded");
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.peerLoads = loadCounter(meterRegistry, "peer");
+        this.refreshes = loadCounter(meterRegistry, "refreshed");
+
+        Gauge.builder("course.cache.hit.ratio", this, cache -> ratio(cache.localHits, cache.localMisses))
+                .tag("cache", name).tag("tier", "l1")
+                .register(meterRegistry);
+        Gauge.builder("course.cache.hit.ratio", this, cache -> ratio(cache.remoteHits, cache.remoteMisses))
+                .tag("cache", name).tag("tier", "l2")
+                .register(meterRegistry);
+        Gauge.builder("course.cache.l1.size", localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        LocalEntry entry = lookupEntry(key, localKey(key));
+        return entry != null ? entry.value() : null;
+    }
+
+    @Nullable
+    private LocalEntry lookupEntry(Object key, String localKey) {
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            return countNegative(entry);
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remoteCache.get(key);
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        entry = new LocalEntry(toStoreValue(wrapper.get()), remoteExpiry(localKey, wrapper.get()));
+        localCache.put(localKey, entry);
+        return countNegative(entry);
+    }
+
+    // A hit on a cached "not found" still saved a database query, but is tracked separately
+    private LocalEntry countNegative(LocalEntry entry) {
+        if (entry.value() == NullValue.INSTANCE) {
+            negativeHits.increment();
+        }
+        return entry;
+    }
+
+    // Used by @Cacheable(sync = true): concurrent misses for one key share a single load
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        LocalEntry entry = lookupEntry(key, localKey);
+        if (entry != null) {
+            if (isDueForRefresh(entry)) {
+                refreshAsync(key, localKey, valueLoader);
+            }
+            return (T) fromStoreValue(entry.value());
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            return (T) fromStoreValue(await(inFlight));
+        }
+
+        try {
+            // A load may have completed between our lookup and claiming the key
+            entry = localCache.getIfPresent(localKey);
+            Object storeValue = entry != null ? entry.value() : toStoreValue(load(key, localKey, valueLoader));
+            load.complete(storeValue);
+            return (T) fromStoreValue(storeValue);
+        } catch (Throwable ex) {
+            // Errors too: waiters block on this future until it completes
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(localKey, load);
+        }
+    }
+
+    @Nullable
+    private <T> Object load(Object key, String localKey, Callable<T> valueLoader) {
+        boolean locked = loadLock == null || loadLock.tryAcquire(name, localKey);
+        if (!locked) {
+            Object storeValue = awaitPeerLoad(key, localKey);
+            if (storeValue != null) {
+                peerLoads.increment();
+                return fromStoreValue(storeValue);
+            }
+        }
+        try {
+            T value = valueLoader.call();
+            loads.increment();
+            put(key, value);
+            return value;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            if (locked && loadLock != null) {
+                loadLock.release(name, localKey);
+            }
+        }
+    }
+
+    // Another replica holds the load lock; poll Redis until it publishes the value or the lease runs out
+    @Nullable
+    private Object awaitPeerLoad(Object key, String localKey) {
+        long deadline = System.nanoTime() + loadLockSettings.getLease().toNanos();
+        Duration pollInterval = loadLockSettings.getPollInterval();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = remoteCache.get(key);
+            if (wrapper != null) {
+                Object storeValue = toStoreValue(wrapper.get());
+                localCache.put(localKey, new LocalEntry(storeValue, remoteExpiry(localKey, wrapper.get())));
+                return storeValue;
+            }
+        }
+        return null;
+    }
+
+    private boolean isDueForRefresh(LocalEntry entry) {
+        Duration refreshWindow = spec.getRefreshWindow();
+        return refreshWindow != null && !refreshWindow.isZero()
+                && entry.remoteExpiresAt() - System.currentTimeMillis() <= refreshWindow.toMillis();
+    }
+
+    // Serves the current value while one background load per key replaces it before Redis expires it.
+    // The loader is the proxied method call Spring handed us and has not been invoked on this path.
+    private <T> void refreshAsync(Object key, String localKey, Callable<T> valueLoader) {
+        if (!inFlightRefreshes.add(localKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                boolean locked = loadLock == null || loadLock.tryAcquire(name, localKey);
+                try {
+                    if (locked) {
+                        put(key, valueLoader.call());
+                        refreshes.increment();
+                    }
+                } catch (Exception ex) {
+                    logger.warn("Refresh-ahead of {}::{} failed, serving cached value until expiry: {}",
+                            name, localKey, ex.getMessage());
+                } finally {
+                    if (locked && loadLock != null) {
+                        loadLock.release(name, localKey);
+                    }
+                    inFlightRefreshes.remove(localKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlightRefreshes.remove(localKey);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remoteCache.put(key, value);
+        String localKey = localKey(key);
+        long remoteExpiresAt = System.currentTimeMillis() + spec.ttlFor(value).toMillis();
+        localCache.put(localKey, new LocalEntry(toStoreValue(value), remoteExpiresAt));
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        String localKey = localKey(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    // Batch reads go through TwoTierCacheManager.getAll; these keep L1 and the metrics in step with single reads
+    @Nullable
+    ValueWrapper getLocal(String localKey) {
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        if (entry == null) {
+            localMisses.increment();
+            return null;
+        }
+        localHits.increment();
+        return toValueWrapper(countNegative(entry).value());
+    }
+
+    ValueWrapper promoteLocal(String localKey, Object storeValue) {
+        remoteHits.increment();
+        LocalEntry entry = new LocalEntry(storeValue, remoteExpiry(localKey, storeValue));
+        localCache.put(localKey, entry);
+        return toValueWrapper(countNegative(entry).value());
+    }
+
+    void recordRemoteMiss() {
+        remoteMisses.increment();
+    }
+
+    void putLocal(String localKey, @Nullable Object value) {
+        long remoteExpiresAt = System.currentTimeMillis() + spec.ttlFor(value).toMillis();
+        localCache.put(localKey, new LocalEntry(toStoreValue(value), remoteExpiresAt));
+    }
+
+    // Called for invalidations broadcast by other replicas; Redis is already up to date
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    // L1 keys follow the Redis key conversion so ids and codes map the same way on every replica
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    // Only worth a PTTL round trip when the cache refreshes ahead of expiry. A cached "not found"
+    // gets at most its negative TTL in L1 as well, however long the Redis entry has left.
+    private long remoteExpiry(String localKey, @Nullable Object value) {
+        if (remoteTtlLookup == null || spec.getRefreshWindow() == null || spec.getRefreshWindow().isZero()) {
+            return value == null || value == NullValue.INSTANCE
+                    ? System.currentTimeMillis() + spec.ttlFor(null).toMillis() : Long.MAX_VALUE;
+        }
+        Duration remaining = remoteTtlLookup.remainingTtl(name, localKey);
+        return remaining == null ? Long.MAX_VALUE : System.currentTimeMillis() + remaining.toMillis();
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("course.cache.requests")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("course.cache.loads")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    // remoteExpiresAt is the epoch millis at which Redis drops the entry, or Long.MAX_VALUE if unknown
+    private record LocalEntry(Object value, long remoteExpiresAt) {
+    }
+
+    // An L1 entry never outlives the Redis entry it was copied from
+    private record LocalExpiry(Duration localTtl) implements Expiry<String, LocalEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalEntry entry, long currentTime) {
+            long untilRemoteExpiry = entry.remoteExpiresAt() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(0, Math.min(localTtl.toMillis(), untilRemoteExpiry))).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.academicplanner.courseservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TwoTierCacheManager implements CacheManager, MessageListener, CacheInvalidationPublisher, CacheLoadLock,
+        RemoteTtlLookup, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private static final String SEPARATOR = "|";
+    // Invalidation messages are instanceId|op|cache|key; clear-all has its own op rather than a marker
+    // key, because any string (a "*" keyword search, say) can be a real key
+    private static final String EVICT = "evict";
+    private static final String CLEAR = "clear";
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    // How RedisCache stores a cached null; batch reads and writes must agree with single-key access
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CourseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                               CourseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = refreshExecutor(properties.getRefreshThreads());
+    }
+
+    // Refreshes are best effort: when the queue is full the entry simply expires as before
+    private static ExecutorService refreshExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remoteCache = redisCacheManager.getCache(cacheName);
+            return remoteCache == null ? null
+                    : new TwoTierCache(cacheName, remoteCache, properties.spec(cacheName), this,
+                    properties.getLoadLock().isEnabled() ? this : null, properties.getLoadLock(), this,
+                    refreshExecutor, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    // SCANs Redis rather than trusting L1, which only holds what this replica has read
+    public Set<String> remoteKeys(String cacheName) {
+        RedisCache redisCache = (RedisCache) redisCacheManager.getCache(cacheName);
+        String prefix = redisCache.getCacheConfiguration().getKeyPrefixFor(cacheName);
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(500).build();
+
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> keys.add(key.substring(prefix.length())));
+        }
+        return keys;
+    }
+
+    // L1 first, then a single MGET for the rest. Keys cached in neither tier are absent from the result;
+    // a wrapper holding null is a cached "not found".
+    public Map<String, Cache.ValueWrapper> getAll(String cacheName, Collection<String> keys) {
+        return getAll(Map.of(cacheName, keys)).getOrDefault(cacheName, Map.of());
+    }
+
+    // As above for keys of several caches, still with a single MGET
+    public Map<String, Map<String, Cache.ValueWrapper>> getAll(Map<String, ? extends Collection<String>> keysByCache) {
+        Map<String, Map<String, Cache.ValueWrapper>> found = new LinkedHashMap<>();
+        List<String> remoteCacheNames = new ArrayList<>();
+        List<String> remoteKeys = new ArrayList<>();
+        keysByCache.forEach((cacheName, keys) -> {
+            TwoTierCache cache = (TwoTierCache) getCache(cacheName);
+            Map<String, Cache.ValueWrapper> cacheFound = found.computeIfAbsent(cacheName, name -> new LinkedHashMap<>());
+            for (String key : keys) {
+                Cache.ValueWrapper local = cache.getLocal(key);
+                if (local != null) {
+                    cacheFound.put(key, local);
+                } else {
+                    remoteCacheNames.add(cacheName);
+                    remoteKeys.add(key);
+                }
+            }
+        });
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        byte[][] rawKeys = new byte[remoteKeys.size()][];
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            String cacheName = remoteCacheNames.get(i);
+            rawKeys[i] = rawKey(redisConfiguration(cacheName), cacheName, remoteKeys.get(i));
+        }
+        List<byte[]> rawValues = stringRedisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            String cacheName = remoteCacheNames.get(i);
+            TwoTierCache cache = (TwoTierCache) getCache(cacheName);
+            byte[] rawValue = rawValues != null ? rawValues.get(i) : null;
+            if (rawValue == null) {
+                cache.recordRemoteMiss();
+                continue;
+            }
+            Object storeValue = Arrays.equals(rawValue, BINARY_NULL_VALUE) ? NullValue.INSTANCE
+                    : redisConfiguration(cacheName).getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+            found.get(cacheName).put(remoteKeys.get(i), cache.promoteLocal(remoteKeys.get(i), storeValue));
+        }
+        return found;
+    }
+
+    // A null value caches "not found"
+    public void putAll(String cacheName, Map<String, ?> values) {
+        putAll(Map.of(cacheName, values));
+    }
+
+    // Writes every entry in one MULTI/EXEC, so no reader sees some of the keys updated and not others,
+    // and pipelines it with the invalidation broadcasts into one round trip
+    public void putAll(Map<String, ? extends Map<String, ?>> valuesByCache) {
+        if (valuesByCache.values().stream().allMatch(Map::isEmpty)) {
+            return;
+        }
+        byte[] channel = properties.getInvalidationChannel().getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.multi();
+            valuesByCache.forEach((cacheName, values) -> {
+                RedisCacheConfiguration config = redisConfiguration(cacheName);
+                CourseCacheProperties.CacheSpec spec = properties.spec(cacheName);
+                values.forEach((key, value) -> {
+                    byte[] rawValue = value == null ? BINARY_NULL_VALUE
+                            : ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    connection.stringCommands().set(rawKey(config, cacheName, key), rawValue,
+                            Expiration.from(spec.ttlFor(value)), RedisStringCommands.SetOption.upsert());
+                });
+            });
+            connection.exec();
+            valuesByCache.forEach((cacheName, values) -> values.keySet().forEach(key ->
+                    connection.publish(channel, invalidationPayload(cacheName, key).getBytes(StandardCharsets.UTF_8))));
+            return null;
+        });
+        valuesByCache.forEach((cacheName, values) -> {
+            TwoTierCache cache = (TwoTierCache) getCache(cacheName);
+            values.forEach(cache::putLocal);
+        });
+    }
+
+    private RedisCacheConfiguration redisConfiguration(String cacheName) {
+        return ((RedisCache) redisCacheManager.getCache(cacheName)).getCacheConfiguration();
+    }
+
+    private static byte[] rawKey(RedisCacheConfiguration config, String cacheName, String key) {
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(config.getKeyPrefixFor(cacheName) + key));
+    }
+
+    @Override
+    public boolean tryAcquire(String cacheName, String key) {
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(lockKey(cacheName, key), instanceId, properties.getLoadLock().getLease());
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            // Without Redis there is nobody to coordinate with, so load locally
+            logger.warn("Failed to acquire load lock for {}::{}: {}", cacheName, key, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String cacheName, String key) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey(cacheName, key)), instanceId);
+        } catch (Exception e) {
+            logger.warn("Failed to release load lock for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    @Nullable
+    public Duration remainingTtl(String cacheName, String key) {
+        try {
+            RedisCache redisCache = (RedisCache) redisCacheManager.getCache(cacheName);
+            String redisKey = redisCache.getCacheConfiguration().getKeyPrefixFor(cacheName) + key;
+            Long millis = stringRedisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            return millis == null || millis < 0 ? null : Duration.ofMillis(millis);
+        } catch (Exception e) {
+            logger.debug("Failed to read TTL of {}::{}: {}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static String lockKey(String cacheName, String key) {
+        return "course-cache:lock:" + cacheName + "::" + key;
+    }
+
+    @Override
+    public void publish(String cacheName, @Nullable String key) {
+        String payload = invalidationPayload(cacheName, key);
+        try {
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), payload);
+        } catch (Exception e) {
+            // Peers fall back to their L1 TTL if the broadcast is lost
+            logger.warn("Failed to broadcast cache invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String invalidationPayload(String cacheName, @Nullable String key) {
+        return instanceId + SEPARATOR + (key == null ? CLEAR : EVICT) + SEPARATOR + cacheName + SEPARATOR
+                + (key == null ? "" : key);
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            logger.debug("Clearing L1 cache '{}' on peer invalidation", parts[2]);
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1])) {
+            logger.debug("Evicting L1 entry {}::{} on peer invalidation", parts[2], parts[3]);
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
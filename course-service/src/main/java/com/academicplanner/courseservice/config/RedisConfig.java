@@ -1,19 +1,34 @@
 package com.academicplanner.courseservice.config;
 
+import com.academicplanner.courseservice.cache.CourseCacheProperties;
+import com.academicplanner.courseservice.cache.CourseCacheValueSerializer;
+import com.academicplanner.courseservice.cache.TwoTierCacheManager;
+import com.academicplanner.courseservice.event.CourseChangeFeed;
+import com.academicplanner.courseservice.event.CourseEventBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(CourseCacheProperties.class)
 public class RedisConfig {
-    
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -24,16 +39,53 @@ public class RedisConfig {
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
-    
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                               CourseCacheProperties cacheProperties) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
-        
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheProperties.getCaches().forEach((name, spec) -> {
+            RedisCacheConfiguration cacheConfig = config.entryTtl((key, value) -> spec.ttlFor(value));
+            if (spec.getValueFormat() == CourseCacheProperties.ValueFormat.BINARY) {
+                cacheConfig = cacheConfig.serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new CourseCacheValueSerializer(spec.getCompressionThreshold())));
+            }
+            cacheConfigurations.put(name, cacheConfig);
+        });
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
     }
-}
\ No newline at end of file
+
+    // In-heap L1 in front of Redis; this is the manager @Cacheable resolves
+    @Bean
+    @Primary
+    public TwoTierCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            CourseCacheProperties cacheProperties,
+                                            MeterRegistry meterRegistry) {
+        return new TwoTierCacheManager(redisCacheManager, stringRedisTemplate, cacheProperties, meterRegistry);
+    }
+
+    // L1 invalidations, cross-replica course events and change feed wake-ups share one subscriber connection
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TwoTierCacheManager cacheManager,
+                                                                       CourseCacheProperties cacheProperties,
+                                                                       CourseEventBroadcaster courseEventBroadcaster,
+                                                                       CourseChangeFeed courseChangeFeed) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheProperties.getInvalidationChannel()));
+        container.addMessageListener(courseEventBroadcaster, new ChannelTopic(courseEventBroadcaster.getChannel()));
+        container.addMessageListener(courseChangeFeed, new ChannelTopic(courseChangeFeed.getChannel()));
+        return container;
+    }
+}
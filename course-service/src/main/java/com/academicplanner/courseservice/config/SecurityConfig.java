@@ -1,5 +1,6 @@
 package com.academicplanner.courseservice.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -48,10 +49,16 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of a streamed response (the course feed) was authorised by its original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/courses/public/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Batch lookup is a read, even though it is a POST
+                        .requestMatchers("POST", "/api/courses/batch").hasAnyRole("ADMIN", "INSTRUCTOR", "STUDENT")
+
                         // Admin-only endpoints
                         .requestMatchers("POST", "/api/courses/**").hasRole("ADMIN")
                         .requestMatchers("PUT", "/api/courses/**").hasRole("ADMIN")
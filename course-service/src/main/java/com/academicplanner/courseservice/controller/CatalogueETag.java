@@ -0,0 +1,54 @@
+package com.academicplanner.courseservice.controller;
+
+import com.academicplanner.courseservice.cache.CourseResponseCache;
+import com.academicplanner.courseservice.service.CatalogueVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Strong ETag for catalogue reads, derived from the JSON actually being served. A replica still
+// answering from a stale cache therefore hands out the old ETag with the old body, never a new ETag
+// a client would keep revalidating against. Handlers return null when it matches; Spring has then
+// already answered 304 and set the ETag header.
+@Component
+@RequiredArgsConstructor
+class CatalogueETag {
+
+    private final CatalogueVersionService catalogueVersionService;
+    private final CourseResponseCache courseResponseCache;
+
+    // 304 when the client is current, otherwise the pre-encoded body as-is; the hash is taken once per
+    // encoding, so neither answer runs Jackson on a hit. The catalogue version only keys the cached
+    // bodies. The gzip variant is a different representation, so it gets its own strong ETag.
+    @Nullable
+    ResponseEntity<byte[]> cachedBody(String key, WebRequest webRequest, Supplier<?> loader) {
+        Long version = catalogueVersionService.current();
+        boolean gzip = courseResponseCache.isGzipEnabled() && acceptsGzip(webRequest);
+        CourseResponseCache.EncodedBody body = courseResponseCache.get(key, version, loader);
+        if (webRequest.checkNotModified(etag(body.hash(), gzip))) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static String etag(String hash, boolean gzip) {
+        return "\"catalogue-" + hash + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    private static boolean acceptsGzip(WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
@@ -1,7 +1,20 @@
 package com.academicplanner.courseservice.controller;
 
+import com.academicplanner.courseservice.cache.CourseCacheInvalidator;
+import com.academicplanner.courseservice.dto.CourseBatchRequest;
+import com.academicplanner.courseservice.dto.CourseBatchResponse;
+import com.academicplanner.courseservice.dto.CourseCodeFilterSnapshot;
+import com.academicplanner.courseservice.dto.CourseFeedEvent;
+import com.academicplanner.courseservice.dto.CourseImportError;
+import com.academicplanner.courseservice.dto.CourseImportResult;
+import com.academicplanner.courseservice.dto.CoursePage;
+import com.academicplanner.courseservice.dto.DepartmentStats;
 import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangeFeed;
+import com.academicplanner.courseservice.service.CourseBatchService;
+import com.academicplanner.courseservice.service.CourseImportService;
 import com.academicplanner.courseservice.service.CourseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,14 +25,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.Optional;
 
 @RestController
@@ -30,6 +50,11 @@ import java.util.Optional;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseNdjsonStreamer courseNdjsonStreamer;
+    private final CatalogueETag catalogueETag;
+    private final CourseBatchService courseBatchService;
+    private final CourseChangeFeed courseChangeFeed;
+    private final CourseImportService courseImportService;
 
     @Operation(
             summary = "Get all courses",
@@ -57,9 +82,33 @@ public class CourseController {
     })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<byte[]> getAllCourses(WebRequest webRequest) {
+        return catalogueETag.cachedBody("courses", webRequest, courseService::getAllCourses);
+    }
+
+    @Operation(
+            summary = "Get courses page",
+            description = "Retrieve courses in id order, one page at a time. Pass the returned nextCursor as 'after' to continue."
+    )
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<CoursePage> getCoursesPage(
+            @Parameter(description = "Cursor from the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-200)", example = "50")
+            @RequestParam(defaultValue = "" + CoursePage.DEFAULT_SIZE) int size) {
+        CoursePage page = courseService.getCoursesPage(after, CoursePage.clampSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream all courses",
+            description = "Stream every course as newline-delimited JSON, in id order, without buffering the catalogue"
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<StreamingResponseBody> streamCourses() {
+        return courseNdjsonStreamer.stream(null);
     }
 
     @Operation(
@@ -88,12 +137,15 @@ public class CourseController {
     })
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<Course> getCourseById(
+    public ResponseEntity<byte[]> getCourseById(
             @Parameter(description = "Course ID", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         Optional<Course> course = courseService.getCourseById(id);
-        return course.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (course.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return catalogueETag.cachedBody("course:" + id, webRequest, course::get);
     }
 
     @Operation(
@@ -117,12 +169,71 @@ public class CourseController {
     })
     @GetMapping("/code/{courseCode}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<Course> getCourseByCourseCode(
+    public ResponseEntity<byte[]> getCourseByCourseCode(
             @Parameter(description = "Course code", required = true, example = "CS101")
-            @PathVariable String courseCode) {
+            @PathVariable String courseCode,
+            WebRequest webRequest) {
         Optional<Course> course = courseService.getCourseByCourseCode(courseCode);
-        return course.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (course.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return catalogueETag.cachedBody("code:" + courseCode, webRequest, course::get);
+    }
+
+    @Operation(
+            summary = "Get the course code filter",
+            description = "Bloom filter of every course code, for callers to reject unknown codes without a lookup. " +
+                    "Supports If-None-Match with the returned version. Requires authentication with ADMIN, INSTRUCTOR, or STUDENT role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Filter retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CourseCodeFilterSnapshot.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "The caller's copy is current",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/codes/filter")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<CourseCodeFilterSnapshot> getCourseCodeFilter(WebRequest webRequest) {
+        CourseCodeFilterSnapshot filter = courseService.getCourseCodeFilter();
+        if (webRequest.checkNotModified("\"" + filter.version() + "\"")) {
+            return null;
+        }
+        return ResponseEntity.ok(filter);
+    }
+
+    @Operation(
+            summary = "Follow catalogue changes",
+            description = "Server-sent events for every course created, updated or deleted, each with a strictly increasing sequence as its id. " +
+                    "Resume with Last-Event-ID (or ?after=); a \"reset\" event means the caller should reload the catalogue first. " +
+                    "Requires authentication with ADMIN, INSTRUCTOR, or STUDENT role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = CourseFeedEvent.class)
+                    )
+            )
+    })
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public SseEmitter followCatalogueChanges(
+            @Parameter(description = "Sequence of the last event the caller applied")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Alternative to Last-Event-ID for clients that can't set headers", example = "1042")
+            @RequestParam(required = false) Long after) {
+        return courseChangeFeed.subscribe(lastEventId != null ? lastEventId : after);
     }
 
     @Operation(
@@ -141,16 +252,46 @@ public class CourseController {
     })
     @GetMapping("/department/{department}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<List<Course>> getCoursesByDepartment(
+    public ResponseEntity<byte[]> getCoursesByDepartment(
+            @Parameter(description = "Department name", required = true, example = "Computer Science")
+            @PathVariable String department,
+            WebRequest webRequest) {
+        return catalogueETag.cachedBody("department:" + CourseCacheInvalidator.departmentKey(department), webRequest,
+                () -> courseService.getCoursesByDepartment(department));
+    }
+
+    @Operation(
+            summary = "Get courses page by department",
+            description = "Retrieve a department's courses in id order, one page at a time"
+    )
+    @GetMapping("/department/{department}/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<CoursePage> getCoursesByDepartmentPage(
+            @Parameter(description = "Department name", required = true, example = "Computer Science")
+            @PathVariable String department,
+            @Parameter(description = "Cursor from the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-200)", example = "50")
+            @RequestParam(defaultValue = "" + CoursePage.DEFAULT_SIZE) int size) {
+        CoursePage page = courseService.getCoursesByDepartmentPage(department, after, CoursePage.clampSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream courses by department",
+            description = "Stream a department's courses as newline-delimited JSON"
+    )
+    @GetMapping(value = "/department/{department}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<StreamingResponseBody> streamCoursesByDepartment(
             @Parameter(description = "Department name", required = true, example = "Computer Science")
             @PathVariable String department) {
-        List<Course> courses = courseService.getCoursesByDepartment(department);
-        return ResponseEntity.ok(courses);
+        return courseNdjsonStreamer.stream(department);
     }
 
     @Operation(
             summary = "Search courses by keyword",
-            description = "Search for courses using keywords in title, description, or course code"
+            description = "Search for courses using keywords in title, description, or course code. Results are ranked with course code matches first, then title, then description"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -164,11 +305,42 @@ public class CourseController {
     })
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<List<Course>> searchCourses(
+    public ResponseEntity<byte[]> searchCourses(
             @Parameter(description = "Search keyword", required = true, example = "programming")
-            @RequestParam String keyword) {
-        List<Course> courses = courseService.searchCoursesByKeyword(keyword);
-        return ResponseEntity.ok(courses);
+            @RequestParam String keyword,
+            WebRequest webRequest) {
+        return catalogueETag.cachedBody("search:" + keyword, webRequest, () -> courseService.searchCoursesByKeyword(keyword));
+    }
+
+    @Operation(
+            summary = "Get courses in batch",
+            description = "Resolve up to 500 courses by id and/or course code in one request. Unknown ids and codes are listed in the response rather than failing the call."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Courses resolved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CourseBatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "More than 500 ids and codes requested",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<CourseBatchResponse> getCoursesBatch(
+            @Parameter(description = "Ids and course codes to resolve", required = true)
+            @RequestBody CourseBatchRequest request) {
+        if (request.idsOrEmpty().size() + request.courseCodesOrEmpty().size() > CourseBatchRequest.MAX_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        CourseBatchResponse response = courseBatchService.getCourses(request);
+        return ResponseEntity.ok(response);
     }
 
     @Operation(
@@ -187,9 +359,28 @@ public class CourseController {
     })
     @GetMapping("/departments")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
-    public ResponseEntity<List<String>> getAllDepartments() {
-        List<String> departments = courseService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+    public ResponseEntity<byte[]> getAllDepartments(WebRequest webRequest) {
+        return catalogueETag.cachedBody("departments", webRequest, courseService::getAllDepartments);
+    }
+
+    @Operation(
+            summary = "Get department statistics",
+            description = "Course count and total credits for every department, from one grouped query"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Department statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(type = "array", implementation = DepartmentStats.class)
+                    )
+            )
+    })
+    @GetMapping("/departments/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR', 'STUDENT')")
+    public ResponseEntity<byte[]> getDepartmentStats(WebRequest webRequest) {
+        return catalogueETag.cachedBody("departmentStats", webRequest, courseService::getDepartmentStats);
     }
 
     @Operation(
@@ -234,6 +425,71 @@ public class CourseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdCourse);
     }
 
+    @Operation(
+            summary = "Import courses in bulk",
+            description = "Create many courses in one request, from a JSON array of courses or a CSV upload (text/csv) whose header " +
+                    "names the columns courseCode, title, description, department and credits. Every row is validated first; " +
+                    "if any is rejected nothing is imported. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All rows imported; the response reports insert throughput",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CourseImportResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Rows rejected or upload unreadable; nothing was imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CourseImportResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A course code was created concurrently; nothing was imported",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CourseImportResult> importCoursesJson(InputStream body) throws IOException {
+        try {
+            return importResponse(courseImportService.importJson(body));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(CourseImportResult.rejected(0,
+                    List.of(new CourseImportError(0, null, "Malformed JSON: " + e.getOriginalMessage()))));
+        } catch (DataIntegrityViolationException e) {
+            // Validation saw the codes as free; another writer took one before the insert
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CourseImportResult> importCoursesCsv(Reader body) throws IOException {
+        try {
+            return importResponse(courseImportService.importCsv(body));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private static ResponseEntity<CourseImportResult> importResponse(CourseImportResult result) {
+        if (!result.errors().isEmpty()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     @Operation(
             summary = "Update an existing course",
             description = "Update course information. Requires ADMIN role."
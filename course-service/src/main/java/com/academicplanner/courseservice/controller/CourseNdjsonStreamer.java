@@ -0,0 +1,44 @@
+package com.academicplanner.courseservice.controller;
+
+import com.academicplanner.courseservice.service.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Writes courses as newline-delimited JSON straight from the database cursor, shared by the
+// authenticated and public controllers
+@Component
+@RequiredArgsConstructor
+class CourseNdjsonStreamer {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    ResponseEntity<StreamingResponseBody> stream(@Nullable String department) {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            courseService.forEachCourse(department, course -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(course));
+                    out.write('\n');
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
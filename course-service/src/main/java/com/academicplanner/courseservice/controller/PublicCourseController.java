@@ -1,6 +1,10 @@
 package com.academicplanner.courseservice.controller;
 
+import com.academicplanner.courseservice.cache.CourseCacheInvalidator;
+import com.academicplanner.courseservice.dto.CoursePage;
 import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.search.CourseSuggestion;
+import com.academicplanner.courseservice.search.CourseSuggestionTrie;
 import com.academicplanner.courseservice.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,8 +14,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +28,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PublicCourseController {
     private final CourseService courseService;
+    private final CourseNdjsonStreamer courseNdjsonStreamer;
+    private final CatalogueETag catalogueETag;
 
     @Operation(
             summary = "Get all courses (public)",
@@ -37,9 +46,31 @@ public class PublicCourseController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCoursesPublic() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<byte[]> getAllCoursesPublic(WebRequest webRequest) {
+        return catalogueETag.cachedBody("courses", webRequest, courseService::getAllCourses);
+    }
+
+    @Operation(
+            summary = "Get courses page (public)",
+            description = "Retrieve courses in id order, one page at a time. No authentication required."
+    )
+    @GetMapping("/page")
+    public ResponseEntity<CoursePage> getCoursesPagePublic(
+            @Parameter(description = "Cursor from the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-200)", example = "50")
+            @RequestParam(defaultValue = "" + CoursePage.DEFAULT_SIZE) int size) {
+        CoursePage page = courseService.getCoursesPage(after, CoursePage.clampSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream all courses (public)",
+            description = "Stream every course as newline-delimited JSON. No authentication required."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCoursesPublic() {
+        return courseNdjsonStreamer.stream(null);
     }
 
     @Operation(
@@ -47,23 +78,65 @@ public class PublicCourseController {
             description = "Retrieve all courses belonging to a specific department. No authentication required."
     )
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<Course>> getCoursesByDepartmentPublic(
+    public ResponseEntity<byte[]> getCoursesByDepartmentPublic(
+            @Parameter(description = "Department name", required = true, example = "Computer Science")
+            @PathVariable String department,
+            WebRequest webRequest) {
+        return catalogueETag.cachedBody("department:" + CourseCacheInvalidator.departmentKey(department), webRequest,
+                () -> courseService.getCoursesByDepartment(department));
+    }
+
+    @Operation(
+            summary = "Get courses page by department (public)",
+            description = "Retrieve a department's courses in id order, one page at a time. No authentication required."
+    )
+    @GetMapping("/department/{department}/page")
+    public ResponseEntity<CoursePage> getCoursesByDepartmentPagePublic(
+            @Parameter(description = "Department name", required = true, example = "Computer Science")
+            @PathVariable String department,
+            @Parameter(description = "Cursor from the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-200)", example = "50")
+            @RequestParam(defaultValue = "" + CoursePage.DEFAULT_SIZE) int size) {
+        CoursePage page = courseService.getCoursesByDepartmentPage(department, after, CoursePage.clampSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream courses by department (public)",
+            description = "Stream a department's courses as newline-delimited JSON. No authentication required."
+    )
+    @GetMapping(value = "/department/{department}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCoursesByDepartmentPublic(
             @Parameter(description = "Department name", required = true, example = "Computer Science")
             @PathVariable String department) {
-        List<Course> courses = courseService.getCoursesByDepartment(department);
-        return ResponseEntity.ok(courses);
+        return courseNdjsonStreamer.stream(department);
     }
 
     @Operation(
             summary = "Search courses by keyword (public)",
-            description = "Search for courses using keywords. No authentication required."
+            description = "Search for courses using keywords, ranked by relevance. No authentication required."
     )
     @GetMapping("/search")
-    public ResponseEntity<List<Course>> searchCoursesPublic(
+    public ResponseEntity<byte[]> searchCoursesPublic(
             @Parameter(description = "Search keyword", required = true, example = "programming")
-            @RequestParam String keyword) {
-        List<Course> courses = courseService.searchCoursesByKeyword(keyword);
-        return ResponseEntity.ok(courses);
+            @RequestParam String keyword,
+            WebRequest webRequest) {
+        return catalogueETag.cachedBody("search:" + keyword, webRequest, () -> courseService.searchCoursesByKeyword(keyword));
+    }
+
+    @Operation(
+            summary = "Suggest courses by prefix (public)",
+            description = "Autocomplete on course code or the start of any title word, course code matches first. No authentication required."
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CourseSuggestion>> suggestCoursesPublic(
+            @Parameter(description = "Prefix typed so far", required = true, example = "cs1")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<CourseSuggestion> suggestions = courseService.suggestCourses(prefix, Math.min(Math.max(limit, 1), CourseSuggestionTrie.MAX_SUGGESTIONS));
+        return ResponseEntity.ok(suggestions);
     }
 
     @Operation(
@@ -71,8 +144,16 @@ public class PublicCourseController {
             description = "Retrieve a list of all available departments. No authentication required."
     )
     @GetMapping("/departments")
-    public ResponseEntity<List<String>> getAllDepartmentsPublic() {
-        List<String> departments = courseService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+    public ResponseEntity<byte[]> getAllDepartmentsPublic(WebRequest webRequest) {
+        return catalogueETag.cachedBody("departments", webRequest, courseService::getAllDepartments);
+    }
+
+    @Operation(
+            summary = "Get department statistics (public)",
+            description = "Course count and total credits for every department. No authentication required."
+    )
+    @GetMapping("/departments/stats")
+    public ResponseEntity<byte[]> getDepartmentStatsPublic(WebRequest webRequest) {
+        return catalogueETag.cachedBody("departmentStats", webRequest, courseService::getDepartmentStats);
     }
 }
\ No newline at end of file
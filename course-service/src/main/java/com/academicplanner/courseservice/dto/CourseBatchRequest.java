@@ -0,0 +1,21 @@
+package com.academicplanner.courseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Courses to resolve in one call, by id and/or course code")
+public record CourseBatchRequest(
+        @Schema(description = "Course ids", example = "[1, 2]") List<Long> ids,
+        @Schema(description = "Course codes", example = "[\"CS101\", \"MATH101\"]") List<String> courseCodes) {
+
+    public static final int MAX_SIZE = 500;
+
+    public List<Long> idsOrEmpty() {
+        return ids != null ? ids : List.of();
+    }
+
+    public List<String> courseCodesOrEmpty() {
+        return courseCodes != null ? courseCodes : List.of();
+    }
+}
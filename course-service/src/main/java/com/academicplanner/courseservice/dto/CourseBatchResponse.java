@@ -0,0 +1,13 @@
+package com.academicplanner.courseservice.dto;
+
+import com.academicplanner.courseservice.entity.Course;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resolved courses and the requested ids and codes that do not exist")
+public record CourseBatchResponse(
+        @Schema(description = "Courses found, ids first then codes, each course once") List<Course> courses,
+        @Schema(description = "Requested ids with no course") List<Long> missingIds,
+        @Schema(description = "Requested course codes with no course") List<String> missingCourseCodes) {
+}
@@ -0,0 +1,13 @@
+package com.academicplanner.courseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Bloom filter over all course codes; a code not in the filter does not exist")
+public record CourseCodeFilterSnapshot(
+        @Schema(description = "Digest of the filter; also sent as the ETag", example = "3f9a1c2b7d4e5f60") String version,
+        @Schema(description = "Hash function applied to the UTF-8 bytes of a code", example = "fnv1a64-fmix") String hash,
+        @Schema(description = "Number of bits in the filter", example = "19171") int numBits,
+        @Schema(description = "Bits set per code, at (h1 + i * h2) % numBits", example = "7") int numHashes,
+        @Schema(description = "Codes added since the last rebuild", example = "1000") int count,
+        @Schema(description = "Base64 of the bits as little-endian 64-bit words") String bits) {
+}
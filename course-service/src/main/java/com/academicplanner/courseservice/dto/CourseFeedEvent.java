@@ -0,0 +1,19 @@
+package com.academicplanner.courseservice.dto;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+
+@Schema(description = "One catalogue change, as carried by the course feed")
+public record CourseFeedEvent(
+        @Schema(description = "Position in the feed; strictly increasing, no gaps", example = "1042") long sequence,
+        @Schema(description = "Kind of change", example = "UPDATED") CourseChangedEvent.Type type,
+        @Schema(description = "Id of the course that changed", example = "1") Long courseId,
+        @Schema(description = "Course code after the change, or of the deleted course", example = "CS101") String courseCode,
+        @Schema(description = "Previous code when an update renamed the course", example = "CS100") @Nullable String previousCourseCode,
+        @Schema(description = "The course after the change; null for deletes") @Nullable Course course,
+        @Schema(description = "When the change was recorded") Instant occurredAt) {
+}
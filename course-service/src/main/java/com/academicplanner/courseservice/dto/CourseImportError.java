@@ -0,0 +1,10 @@
+package com.academicplanner.courseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A row rejected by a bulk import")
+public record CourseImportError(
+        @Schema(description = "1-based position of the row in the upload, not counting a CSV header", example = "12") int row,
+        @Schema(description = "Course code of the row, when it has one", example = "CS101") String courseCode,
+        @Schema(description = "Why the row was rejected", example = "credits: Credits must be positive") String message) {
+}
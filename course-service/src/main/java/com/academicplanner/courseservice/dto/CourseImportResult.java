@@ -0,0 +1,18 @@
+package com.academicplanner.courseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk course import; nothing is imported when any row is rejected")
+public record CourseImportResult(
+        @Schema(description = "Rows read from the upload", example = "1200") int received,
+        @Schema(description = "Courses inserted", example = "1200") int imported,
+        @Schema(description = "Time spent inserting, in milliseconds", example = "850") long elapsedMillis,
+        @Schema(description = "Insert throughput", example = "1411.8") double rowsPerSecond,
+        @Schema(description = "Rejected rows, at most 100") List<CourseImportError> errors) {
+
+    public static CourseImportResult rejected(int received, List<CourseImportError> errors) {
+        return new CourseImportResult(received, 0, 0, 0, errors);
+    }
+}
@@ -0,0 +1,19 @@
+package com.academicplanner.courseservice.dto;
+
+import com.academicplanner.courseservice.entity.Course;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of courses in id order")
+public record CoursePage(
+        @Schema(description = "Courses on this page") List<Course> items,
+        @Schema(description = "Pass as 'after' to fetch the next page; null on the last page", example = "50") Long nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+}
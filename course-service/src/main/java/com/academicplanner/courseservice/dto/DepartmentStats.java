@@ -0,0 +1,10 @@
+package com.academicplanner.courseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Course count and total credits for one department")
+public record DepartmentStats(
+        @Schema(description = "Department name", example = "Computer Science") String department,
+        @Schema(description = "Number of courses in the department", example = "12") Long courseCount,
+        @Schema(description = "Sum of the credits of those courses", example = "40") Long totalCredits) {
+}
@@ -17,7 +17,8 @@ import java.io.Serializable;
 @NoArgsConstructor
 public class Course implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_id")
+    @SequenceGenerator(name = "course_id", sequenceName = "courses_id_seq", allocationSize = 50)
     @Schema(description = "Unique identifier for the course", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
@@ -0,0 +1,11 @@
+package com.academicplanner.courseservice.event;
+
+import com.academicplanner.courseservice.entity.Course;
+
+import java.util.List;
+
+// Published once per bulk import instead of a CourseChangedEvent per course. courses holds the
+// inserted rows on the importing replica; it is empty when relayed by CourseEventBroadcaster, and
+// peers reload from the database instead.
+public record CatalogueImportedEvent(List<Course> courses, boolean remote) {
+}
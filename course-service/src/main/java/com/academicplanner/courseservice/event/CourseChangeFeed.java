@@ -0,0 +1,374 @@
+package com.academicplanner.courseservice.event;
+
+import com.academicplanner.courseservice.dto.CourseFeedEvent;
+import com.academicplanner.courseservice.entity.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Catalogue change feed for other services. Every local write is appended to a capped log in Redis
+// (a sorted set scored by sequence) by one script that also takes the next sequence number, so the
+// log is gap-free and in commit order across replicas. The pub/sub message that follows is only a
+// wake-up: each replica reads whatever is new from the log and streams it to its SSE subscribers,
+// which makes delivery independent of pub/sub ordering and of a lost message.
+//
+// A subscriber resuming from a sequence still in the log gets the missed entries first. One that
+// is new, too far behind, or ahead of the log (Redis was reset) gets a "reset" event carrying the
+// current sequence and should reload the catalogue before applying further events.
+//
+// When an append fails, its changes are missing from the log. The replica then writes a gap entry
+// as soon as Redis takes writes again (the next append or heartbeat). Every subscriber that reads
+// past the gap, live or on resume, gets "reset" in its place.
+//
+// Each subscriber is written to on its own virtual thread under its own lock, so a slow client
+// holds up only itself.
+@Component
+public class CourseChangeFeed implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseChangeFeed.class);
+    static final String SEQUENCE_KEY = "course-feed:sequence";
+    static final String LOG_KEY = "course-feed:log";
+
+    // Entries appended per script call, so a large import doesn't hold Redis for one long script
+    private static final int APPEND_CHUNK = 500;
+    // Logged in place of changes that never made it into the log
+    private static final String GAP = "{\"type\":\"RESET\"}";
+
+    // KEYS: sequence, log; ARGV: retention, channel, then one event json per entry
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>("""
+            local sequence = 0
+            for i = 3, #ARGV do
+                sequence = redis.call('INCR', KEYS[1])
+                local entry = '{"sequence":' .. sequence .. ',' .. string.sub(ARGV[i], 2)
+                redis.call('ZADD', KEYS[2], sequence, entry)
+            end
+            redis.call('ZREMRANGEBYRANK', KEYS[2], 0, -tonumber(ARGV[1]) - 1)
+            redis.call('PUBLISH', ARGV[2], sequence)
+            return sequence
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int retention;
+    private final Duration emitterTimeout;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("course-feed-send-", 0).factory());
+    private final ScheduledExecutorService heartbeat;
+    private final AtomicBoolean gapPending = new AtomicBoolean();
+
+    public CourseChangeFeed(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${course-feed.channel:course-feed}") String channel,
+                            @Value("${course-feed.retention:10000}") int retention,
+                            @Value("${course-feed.emitter-timeout:30m}") Duration emitterTimeout,
+                            @Value("${course-feed.heartbeat:15s}") Duration heartbeatInterval) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.retention = retention;
+        this.emitterTimeout = emitterTimeout;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Also catches up on anything a lost pub/sub message didn't announce
+        heartbeat.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.remote() || (event.before() == null && event.after() == null)) {
+            return;
+        }
+        Course before = event.before();
+        Course after = event.after();
+        Course subject = after != null ? after : before;
+        String previousCode = before != null && after != null && !before.getCourseCode().equals(after.getCourseCode())
+                ? before.getCourseCode() : null;
+        Instant now = Instant.now();
+        append(List.of(new CourseFeedEvent(0, event.type(), subject.getId(),
+                subject.getCourseCode(), previousCode, after, now)));
+    }
+
+    // Each imported course is a CREATED entry, so subscribers apply an import like any other write
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        Instant now = Instant.now();
+        append(event.courses().stream()
+                .map(course -> new CourseFeedEvent(0, CourseChangedEvent.Type.CREATED, course.getId(),
+                        course.getCourseCode(), null, course, now))
+                .toList());
+    }
+
+    private void append(List<CourseFeedEvent> events) {
+        try {
+            appendGapIfPending();
+            for (int from = 0; from < events.size(); from += APPEND_CHUNK) {
+                List<String> args = new ArrayList<>();
+                args.add(String.valueOf(retention));
+                args.add(channel);
+                for (CourseFeedEvent event : events.subList(from, Math.min(from + APPEND_CHUNK, events.size()))) {
+                    // The script prepends the sequence it assigns, so the placeholder never reaches the log
+                    String json = objectMapper.writeValueAsString(event);
+                    args.add("{" + json.substring(json.indexOf(',') + 1));
+                }
+                redisTemplate.execute(APPEND, List.of(SEQUENCE_KEY, LOG_KEY), args.toArray());
+            }
+        } catch (JsonProcessingException e) {
+            gapPending.set(true);
+            logger.error("Could not serialise course feed entry", e);
+        } catch (RuntimeException e) {
+            gapPending.set(true);
+            logger.warn("Could not append {} entries to the course feed, subscribers will be reset: {}",
+                    events.size(), e.getMessage());
+        }
+    }
+
+    private void appendGapIfPending() {
+        if (!gapPending.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            Long sequence = redisTemplate.execute(APPEND, List.of(SEQUENCE_KEY, LOG_KEY),
+                    String.valueOf(retention), channel, GAP);
+            logger.info("Marked a gap in the course feed at sequence {}", sequence);
+        } catch (RuntimeException e) {
+            gapPending.set(true);
+            throw e;
+        }
+    }
+
+    public SseEmitter subscribe(@Nullable Long after) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Registered before the backlog is read, so nothing appended meanwhile is missed; live
+        // deliveries wait on the subscriber's lock and skip whatever the backlog already sent
+        subscriber.sendLock.lock();
+        try {
+            subscribers.add(subscriber);
+            long current = currentSequence();
+            Long oldest = oldestRetained();
+            boolean resumable = after != null && after <= current
+                    && (after == current || (oldest != null && after >= oldest - 1));
+            if (resumable) {
+                subscriber.lastSent = after;
+                subscriber.sendAfter(entriesAfter(after));
+            } else {
+                subscriber.reset(current);
+            }
+        } catch (RuntimeException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        } finally {
+            subscriber.sendLock.unlock();
+        }
+        return emitter;
+    }
+
+    // Pub/sub wake-up from whichever replica appended the entry
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        deliver();
+    }
+
+    // Any subscriber's next entry is in what is read here, as lastSent only grows
+    private void deliver() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Entry> entries;
+        try {
+            long from = subscribers.stream().mapToLong(subscriber -> subscriber.lastSent).min().orElse(0);
+            entries = entriesAfter(from);
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the course feed: {}", e.getMessage());
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(() -> subscriber.deliver(entries));
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            appendGapIfPending();
+        } catch (RuntimeException e) {
+            logger.debug("Course feed gap not marked yet: {}", e.getMessage());
+        }
+        deliver();
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(subscriber::ping);
+        }
+    }
+
+    private List<Entry> entriesAfter(long sequence) {
+        Set<String> entries = redisTemplate.opsForZSet().rangeByScore(LOG_KEY, sequence + 1, Double.POSITIVE_INFINITY);
+        return entries != null ? entries.stream().map(this::parse).toList() : List.of();
+    }
+
+    private long currentSequence() {
+        String sequence = redisTemplate.opsForValue().get(SEQUENCE_KEY);
+        return sequence != null ? Long.parseLong(sequence) : 0;
+    }
+
+    @Nullable
+    private Long oldestRetained() {
+        Set<ZSetOperations.TypedTuple<String>> oldest = redisTemplate.opsForZSet().rangeWithScores(LOG_KEY, 0, 0);
+        if (oldest == null || oldest.isEmpty()) {
+            return null;
+        }
+        return Objects.requireNonNull(oldest.iterator().next().getScore()).longValue();
+    }
+
+    private Entry parse(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return new Entry(node.get("sequence").asLong(), node.get("type").asText().toLowerCase(), json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed course feed entry", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // A log entry as stored: the CourseFeedEvent JSON, with its sequence and type read out for SSE
+    private record Entry(long sequence, String name, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Held while sending, so the subscriber sees entries once and in order
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private volatile long lastSent;
+        private volatile boolean open = true;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void deliver(List<Entry> entries) {
+            sendLock.lock();
+            try {
+                sendAfter(entries);
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        // Caller holds sendLock
+        void sendAfter(List<Entry> entries) {
+            for (Entry entry : entries) {
+                if (!open) {
+                    return;
+                }
+                if (entry.sequence() <= lastSent) {
+                    continue;
+                }
+                if ("reset".equals(entry.name())) {
+                    reset(entry.sequence());
+                } else {
+                    send(entry);
+                }
+            }
+        }
+
+        private void send(Entry entry) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(entry.sequence()))
+                        .name(entry.name())
+                        .data(entry.json()));
+                lastSent = entry.sequence();
+            } catch (IOException | RuntimeException e) {
+                close(e);
+            }
+        }
+
+        private void reset(long sequence) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(sequence))
+                        .name("reset")
+                        .data("{\"sequence\":" + sequence + "}"));
+                lastSent = sequence;
+            } catch (IOException | RuntimeException e) {
+                close(e);
+            }
+        }
+
+        // Skipped while a send is in progress, which keeps the connection alive anyway
+        void ping() {
+            if (!sendLock.tryLock()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | RuntimeException e) {
+                close(e);
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        private void close(Exception e) {
+            open = false;
+            subscribers.remove(this);
+            logger.debug("Dropping course feed subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+}
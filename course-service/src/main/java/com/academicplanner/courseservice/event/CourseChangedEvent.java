@@ -0,0 +1,26 @@
+package com.academicplanner.courseservice.event;
+
+import com.academicplanner.courseservice.entity.Course;
+import org.springframework.lang.Nullable;
+
+// remote is set when the write happened on another replica and was relayed by CourseEventBroadcaster
+public record CourseChangedEvent(Type type, @Nullable Course before, @Nullable Course after, boolean remote) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CourseChangedEvent created(Course course) {
+        return new CourseChangedEvent(Type.CREATED, null, course, false);
+    }
+
+    public static CourseChangedEvent updated(@Nullable Course before, Course after) {
+        return new CourseChangedEvent(Type.UPDATED, before, after, false);
+    }
+
+    public static CourseChangedEvent deleted(@Nullable Course course) {
+        return new CourseChangedEvent(Type.DELETED, course, null, false);
+    }
+}
@@ -0,0 +1,104 @@
+package com.academicplanner.courseservice.event;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+// Relays course writes to the other replicas over Redis pub/sub so in-memory structures built
+// from the catalogue (such as the search index) see every write, not just their own.
+@Component
+public class CourseEventBroadcaster implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseEventBroadcaster.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CourseEventBroadcaster(StringRedisTemplate redisTemplate,
+                                  ObjectMapper objectMapper,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${course-events.channel:course-events}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(
+                    new CourseEventMessage(instanceId, event.type(), event.before(), event.after(), 0));
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialise {} event for broadcast", event.type(), e);
+        } catch (RuntimeException e) {
+            // Peers fall behind until their next rebuild; the write itself has already succeeded
+            logger.warn("Could not broadcast {} event: {}", event.type(), e.getMessage());
+        }
+    }
+
+    // Only the size goes over the wire; peers reload the catalogue rather than receive every row
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(
+                    new CourseEventMessage(instanceId, null, null, null, event.courses().size()));
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialise import event for broadcast", e);
+        } catch (RuntimeException e) {
+            logger.warn("Could not broadcast import of {} courses: {}", event.courses().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        try {
+            CourseEventMessage received = objectMapper.readValue(message.getBody(), CourseEventMessage.class);
+            if (instanceId.equals(received.origin())) {
+                return;
+            }
+            if (received.type() == null) {
+                eventPublisher.publishEvent(new CatalogueImportedEvent(List.of(), true));
+                return;
+            }
+            eventPublisher.publishEvent(
+                    new CourseChangedEvent(received.type(), received.before(), received.after(), true));
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed course event: {}", e.getMessage());
+        }
+    }
+
+    // type is null for a bulk import, which carries only the number of courses imported
+    record CourseEventMessage(String origin, @Nullable CourseChangedEvent.Type type,
+                              @Nullable Course before, @Nullable Course after, int imported) {
+    }
+}
@@ -1,13 +1,23 @@
 package com.academicplanner.courseservice.repository;
 
+import com.academicplanner.courseservice.dto.DepartmentStats;
 import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.search.CourseSuggestion;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -15,13 +25,62 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCourseCode(String courseCode);
     
     List<Course> findByDepartmentIgnoreCase(String department);
+
+    List<Course> findByCourseCodeIn(Collection<String> courseCodes);
+
+    List<Course> findByIdInOrCourseCodeIn(Collection<Long> ids, Collection<String> courseCodes);
     
     @Query("SELECT c FROM Course c WHERE " +
            "LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Course> findByKeyword(@Param("keyword") String keyword);
+
+    // Same substring matches as findByKeyword plus full-text word matches, all served by the V2 GIN
+    // indexes; exact code first, then full-text rank, then title similarity
+    @Query(value = "SELECT c.* FROM courses c WHERE " +
+            "c.search_vector @@ websearch_to_tsquery('english', :keyword) OR " +
+            "LOWER(c.course_code) LIKE '%' || LOWER(:keyword) || '%' OR " +
+            "LOWER(c.title) LIKE '%' || LOWER(:keyword) || '%' OR " +
+            "LOWER(c.description) LIKE '%' || LOWER(:keyword) || '%' " +
+            "ORDER BY LOWER(c.course_code) = LOWER(:keyword) DESC, " +
+            "ts_rank_cd(c.search_vector, websearch_to_tsquery('english', :keyword)) DESC, " +
+            "similarity(LOWER(c.title), LOWER(:keyword)) DESC, c.course_code",
+            nativeQuery = true)
+    List<Course> searchRanked(@Param("keyword") String keyword);
     
+    // CourseSuggestionTrie's matches (code prefix or the start of a title word), codes first; the
+    // prefix is lower case with LIKE wildcards escaped
+    @Query("SELECT new com.academicplanner.courseservice.search.CourseSuggestion(c.id, c.courseCode, c.title) " +
+           "FROM Course c WHERE " +
+           "LOWER(c.courseCode) LIKE CONCAT(:prefix, '%') ESCAPE '\\' OR " +
+           "LOWER(c.title) LIKE CONCAT(:prefix, '%') ESCAPE '\\' OR " +
+           "LOWER(c.title) LIKE CONCAT('% ', :prefix, '%') ESCAPE '\\' " +
+           "ORDER BY CASE WHEN LOWER(c.courseCode) LIKE CONCAT(:prefix, '%') ESCAPE '\\' THEN 0 ELSE 1 END, " +
+           "LENGTH(c.courseCode), LENGTH(c.title), c.courseCode")
+    List<CourseSuggestion> suggestByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
     @Query("SELECT DISTINCT c.department FROM Course c ORDER BY c.department")
     List<String> findAllDepartments();
+
+    @Query("SELECT new com.academicplanner.courseservice.dto.DepartmentStats(c.department, COUNT(c), COALESCE(SUM(c.credits), 0L)) " +
+           "FROM Course c GROUP BY c.department ORDER BY c.department")
+    List<DepartmentStats> findDepartmentStats();
+
+    @Query("SELECT c.courseCode FROM Course c")
+    List<String> findAllCourseCodes();
+
+    // Keyset pages: pass the last id seen and a Pageable of page 0, never an offset
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Course> findByDepartmentIgnoreCaseAndIdGreaterThanOrderByIdAsc(String department, Long id, Pageable pageable);
+
+    // Cursor-backed streams; must be consumed inside a transaction and closed
+    @Query("SELECT c FROM Course c ORDER BY c.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Course> streamAll();
+
+    @Query("SELECT c FROM Course c WHERE LOWER(c.department) = LOWER(:department) ORDER BY c.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Course> streamByDepartment(@Param("department") String department);
 }
\ No newline at end of file
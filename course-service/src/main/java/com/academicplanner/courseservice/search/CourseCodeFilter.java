@@ -0,0 +1,297 @@
+package com.academicplanner.courseservice.search;
+
+import com.academicplanner.courseservice.dto.CourseCodeFilterSnapshot;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Bloom filter over every course code, served to other services so they can reject codes that
+// definitely don't exist without a remote call. New codes are added in place; removed or renamed
+// codes stay set (a false positive only costs the caller a lookup) until they make up a quarter of
+// the filter, or it outgrows its sizing, and it is rebuilt from the database.
+//
+// A missing code is the costly mistake, so codes that arrive while a build is loading are replayed
+// into it, and the filter is rebuilt from the database every rebuild-interval in case a peer's
+// change event was lost on the way.
+//
+// Bit i of the filter is bit (i % 64) of word (i / 64); a code sets bits (h1 + j * h2) % numBits for
+// j in [0, numHashes), where h1 and h2 are the low and high halves of fnv1a64-fmix of its UTF-8 bytes.
+@Component
+public class CourseCodeFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCodeFilter.class);
+    public static final String HASH = "fnv1a64-fmix";
+    private static final int MIN_CAPACITY = 1024;
+
+    private final CourseRepository courseRepository;
+    private final double falsePositiveRate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilds;
+
+    private long[] words = new long[0];
+    private int numBits;
+    private int numHashes;
+    private int capacity;
+    private int count;
+    private int stale;
+    private CourseCodeFilterSnapshot snapshot;
+    // Codes added since the catalogue for a build in progress (or the first build) was read
+    private final Set<String> addedDuringBuild = new HashSet<>();
+    private int buildsInProgress;
+
+    public CourseCodeFilter(CourseRepository courseRepository,
+                            @Value("${course-code-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${course-code-filter.rebuild-interval:10m}") Duration rebuildInterval) {
+        this.courseRepository = courseRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+            this.rebuilds = null;
+            return;
+        }
+        this.rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-code-filter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilds.scheduleWithFixedDelay(this::scheduledRebuild,
+                rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void build() {
+        startBuild();
+        List<String> codes;
+        try {
+            codes = courseRepository.findAllCourseCodes();
+        } catch (RuntimeException e) {
+            abandonBuild();
+            throw e;
+        }
+        buildFromCodes(codes);
+    }
+
+    // Called by CacheWarmer at startup with the catalogue it has already loaded; anything added since
+    // then was recorded because the filter wasn't built yet
+    public void build(List<Course> courses) {
+        startBuild();
+        buildFromCodes(courses.stream().map(Course::getCourseCode).toList());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (rebuilds != null) {
+            rebuilds.shutdownNow();
+        }
+    }
+
+    private void scheduledRebuild() {
+        try {
+            build();
+        } catch (Exception e) {
+            logger.warn("Could not rebuild course code filter: {}", e.getMessage());
+        }
+    }
+
+    private void startBuild() {
+        lock.writeLock().lock();
+        try {
+            buildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void abandonBuild() {
+        lock.writeLock().lock();
+        try {
+            if (--buildsInProgress == 0 && numBits > 0) {
+                addedDuringBuild.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void buildFromCodes(Collection<String> codes) {
+        lock.writeLock().lock();
+        try {
+            // Sized at twice the current catalogue so in-place additions don't push the error rate up
+            capacity = Math.max(MIN_CAPACITY, codes.size() * 2);
+            numBits = (int) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            words = new long[(numBits + 63) / 64];
+            count = 0;
+            stale = 0;
+            codes.stream().filter(Objects::nonNull).forEach(this::set);
+            addedDuringBuild.forEach(this::set);
+            if (--buildsInProgress == 0) {
+                addedDuringBuild.clear();
+            }
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Course code filter built: {} codes, {} bits, {} hashes", codes.size(), numBits, numHashes);
+    }
+
+    public boolean mightContain(String courseCode) {
+        lock.readLock().lock();
+        try {
+            if (numBits == 0) {
+                return true;
+            }
+            long hash = hash(courseCode);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Encoded once per change; the version is a digest of the bits, so replicas holding the same
+    // filter hand out the same version
+    public CourseCodeFilterSnapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            CourseCodeFilterSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (snapshot == null) {
+                ByteBuffer bytes = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                long digest = 0xcbf29ce484222325L;
+                for (long word : words) {
+                    bytes.putLong(word);
+                    digest = fmix(digest ^ word) * 0x100000001b3L;
+                }
+                snapshot = new CourseCodeFilterSnapshot(Long.toHexString(digest ^ numBits ^ ((long) numHashes << 32)),
+                        HASH, numBits, numHashes, count, Base64.getEncoder().encodeToString(bytes.array()));
+            }
+            return snapshot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        boolean rebuild;
+        lock.writeLock().lock();
+        try {
+            String before = event.before() != null ? event.before().getCourseCode() : null;
+            String after = event.after() != null ? event.after().getCourseCode() : null;
+            if (Objects.equals(before, after)) {
+                return;
+            }
+            if (after != null && (numBits == 0 || buildsInProgress > 0)) {
+                addedDuringBuild.add(after);
+            }
+            if (numBits == 0) {
+                return;
+            }
+            if (after != null) {
+                set(after);
+            }
+            if (before != null) {
+                stale++;
+            }
+            snapshot = null;
+            rebuild = count > capacity || stale * 4 > capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            build();
+        }
+    }
+
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (event.remote()) {
+            build();
+            return;
+        }
+        boolean rebuild;
+        lock.writeLock().lock();
+        try {
+            if (numBits == 0 || buildsInProgress > 0) {
+                event.courses().forEach(course -> addedDuringBuild.add(course.getCourseCode()));
+            }
+            if (numBits == 0) {
+                return;
+            }
+            event.courses().forEach(course -> set(course.getCourseCode()));
+            snapshot = null;
+            rebuild = count > capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            build();
+        }
+    }
+
+    private void set(String courseCode) {
+        long hash = hash(courseCode);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            words[bit >>> 6] |= 1L << bit;
+        }
+        count++;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the murmur3 fmix64 avalanche
+    static long hash(String courseCode) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : courseCode.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return fmix(hash);
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
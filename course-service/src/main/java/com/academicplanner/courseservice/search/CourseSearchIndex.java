@@ -0,0 +1,300 @@
+package com.academicplanner.courseservice.search;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram index over course code, title and description. Matches are the same
+// case-insensitive substring matches as CourseRepository.findByKeyword, but ranked.
+//
+// A build swaps in a catalogue read before it took the lock, so changes that arrive while a build is
+// loading (or before the first build) are recorded and replayed into it, as CourseCodeFilter does.
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchIndex.class);
+    private static final int GRAM = 3;
+
+    private final CourseRepository courseRepository;
+    private final boolean enabled;
+
+    private final Map<Long, IndexedCourse> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    // Changes since the catalogue for a build in progress (or the first build) was read
+    private final List<Change> changedDuringBuild = new ArrayList<>();
+    private int buildsInProgress;
+
+    public CourseSearchIndex(CourseRepository courseRepository,
+                             @Value("${course-search.index.enabled:true}") boolean enabled) {
+        this.courseRepository = courseRepository;
+        this.enabled = enabled;
+    }
+
+    // Until the first build completes, keyword searches go to the database
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        startBuild();
+        List<Course> courses;
+        try {
+            courses = courseRepository.findAll();
+        } catch (RuntimeException e) {
+            abandonBuild();
+            throw e;
+        }
+        swapIn(courses, false);
+    }
+
+    // Called by CacheWarmer at startup with the catalogue it has already loaded; anything changed since
+    // then was recorded because the index wasn't built yet. Skipped if a build from a later read won.
+    public void build(List<Course> courses) {
+        if (!enabled) {
+            logger.info("Course search index disabled; keyword search uses the database");
+            return;
+        }
+        startBuild();
+        swapIn(courses, true);
+    }
+
+    private void startBuild() {
+        lock.writeLock().lock();
+        try {
+            buildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void abandonBuild() {
+        lock.writeLock().lock();
+        try {
+            if (--buildsInProgress == 0 && ready) {
+                changedDuringBuild.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void swapIn(List<Course> courses, boolean firstBuildOnly) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (firstBuildOnly && ready) {
+                if (--buildsInProgress == 0) {
+                    changedDuringBuild.clear();
+                }
+                return;
+            }
+            documents.clear();
+            postings.clear();
+            courses.forEach(this::add);
+            changedDuringBuild.forEach(this::apply);
+            if (--buildsInProgress == 0) {
+                changedDuringBuild.clear();
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Indexed {} courses for keyword search in {} ms", courses.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Local and peer writes both arrive here, so every replica's index follows the catalogue
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        record(new Change(event.before(), event.after()));
+    }
+
+    // Imported courses are new, so they are only added; peers don't receive them and rebuild
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.remote()) {
+            build();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            event.courses().forEach(course -> record(new Change(null, course)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (!ready || buildsInProgress > 0) {
+                changedDuringBuild.add(change);
+            }
+            apply(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaying a change the build's catalogue already held leaves the index as it was
+    private void apply(Change change) {
+        if (change.before() != null) {
+            remove(change.before().getId());
+        }
+        if (change.after() != null) {
+            remove(change.after().getId());
+            add(change.after());
+        }
+    }
+
+    public List<Course> search(String keyword) {
+        String query = normalize(keyword);
+        lock.readLock().lock();
+        try {
+            List<ScoredCourse> matches = new ArrayList<>();
+            for (IndexedCourse document : candidates(query)) {
+                int score = document.score(query);
+                if (score > 0) {
+                    matches.add(new ScoredCourse(document.course(), score));
+                }
+            }
+            matches.sort(Comparator.comparingInt(ScoredCourse::score).reversed()
+                    .thenComparing(match -> match.course().getCourseCode()));
+            return matches.stream().map(ScoredCourse::course).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every trigram of the query must occur in a matching course; shorter queries are checked against all courses
+    private Collection<IndexedCourse> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.values();
+        }
+        Set<Long> ids = null;
+        for (String gram : grams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (ids == null) {
+                ids = new HashSet<>(posting);
+            } else {
+                ids.retainAll(posting);
+            }
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+        }
+        return ids.stream().map(documents::get).toList();
+    }
+
+    private void add(Course course) {
+        IndexedCourse document = new IndexedCourse(course);
+        documents.put(course.getId(), document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(course.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        IndexedCourse document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private record Change(@Nullable Course before, @Nullable Course after) {
+    }
+
+    private record ScoredCourse(Course course, int score) {
+    }
+
+    private record IndexedCourse(Course course, String code, String title, String description) {
+
+        IndexedCourse(Course course) {
+            this(course, normalize(course.getCourseCode()), normalize(course.getTitle()),
+                    normalize(course.getDescription()));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = grams(code);
+            grams.addAll(grams(title));
+            grams.addAll(grams(description));
+            return grams;
+        }
+
+        // Code matches outrank title matches, which outrank description matches; zero means no match
+        int score(String query) {
+            int score = 0;
+            if (code.equals(query)) {
+                score += 100;
+            } else if (code.startsWith(query)) {
+                score += 50;
+            } else if (code.contains(query)) {
+                score += 20;
+            }
+            int titleIndex = title.indexOf(query);
+            if (titleIndex == 0 || (titleIndex > 0 && title.charAt(titleIndex - 1) == ' ')) {
+                score += 15;
+            } else if (titleIndex > 0) {
+                score += 10;
+            }
+            if (description.contains(query)) {
+                score += 3;
+            }
+            return score;
+        }
+    }
+}
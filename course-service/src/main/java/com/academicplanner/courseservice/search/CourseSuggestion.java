@@ -0,0 +1,15 @@
+package com.academicplanner.courseservice.search;
+
+import com.academicplanner.courseservice.entity.Course;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Autocomplete suggestion for a course")
+public record CourseSuggestion(
+        @Schema(description = "Course identifier", example = "1") Long id,
+        @Schema(description = "Course code", example = "CS101") String courseCode,
+        @Schema(description = "Course title", example = "Introduction to Programming") String title) {
+
+    public static CourseSuggestion of(Course course) {
+        return new CourseSuggestion(course.getId(), course.getCourseCode(), course.getTitle());
+    }
+}
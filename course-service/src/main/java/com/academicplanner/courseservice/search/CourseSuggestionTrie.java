@@ -0,0 +1,339 @@
+package com.academicplanner.courseservice.search;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix tries over course codes and titles for autocomplete. Titles are indexed from the start
+// of every word, so "prog" finds "Introduction to Programming". Code matches are returned first,
+// and shorter completions before longer ones.
+//
+// Builds record and replay concurrent changes the same way as CourseSearchIndex.
+@Component
+public class CourseSuggestionTrie {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSuggestionTrie.class);
+    public static final int MAX_SUGGESTIONS = 50;
+    private static final Comparator<Completion> NEAREST_FIRST = Comparator
+            .comparingInt((Completion completion) -> completion.key().length())
+            .thenComparing(Completion::key)
+            .thenComparing(Completion::id);
+
+    private final CourseRepository courseRepository;
+
+    private final Node codes = new Node();
+    private final Node titles = new Node();
+    private final Map<Long, CourseSuggestion> suggestions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    // Changes since the catalogue for a build in progress (or the first build) was read
+    private final List<Change> changedDuringBuild = new ArrayList<>();
+    private int buildsInProgress;
+
+    public CourseSuggestionTrie(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    // Until the first build completes, suggestions come from the database
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void build() {
+        startBuild();
+        List<Course> courses;
+        try {
+            courses = courseRepository.findAll();
+        } catch (RuntimeException e) {
+            abandonBuild();
+            throw e;
+        }
+        swapIn(courses, false);
+    }
+
+    // Called by CacheWarmer at startup with the catalogue it has already loaded; anything changed since
+    // then was recorded because the trie wasn't built yet. Skipped if a build from a later read won.
+    public void build(List<Course> courses) {
+        startBuild();
+        swapIn(courses, true);
+    }
+
+    private void startBuild() {
+        lock.writeLock().lock();
+        try {
+            buildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void abandonBuild() {
+        lock.writeLock().lock();
+        try {
+            if (--buildsInProgress == 0 && ready) {
+                changedDuringBuild.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void swapIn(List<Course> courses, boolean firstBuildOnly) {
+        lock.writeLock().lock();
+        try {
+            if (firstBuildOnly && ready) {
+                if (--buildsInProgress == 0) {
+                    changedDuringBuild.clear();
+                }
+                return;
+            }
+            codes.clear();
+            titles.clear();
+            suggestions.clear();
+            courses.forEach(this::add);
+            changedDuringBuild.forEach(this::apply);
+            if (--buildsInProgress == 0) {
+                changedDuringBuild.clear();
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built course suggestion trie over {} courses", courses.size());
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        record(new Change(event.before(), event.after()));
+    }
+
+    @EventListener
+    public void onCatalogueImported(CatalogueImportedEvent event) {
+        if (event.remote()) {
+            build();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            event.courses().forEach(course -> record(new Change(null, course)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (!ready || buildsInProgress > 0) {
+                changedDuringBuild.add(change);
+            }
+            apply(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaying a change the build's catalogue already held leaves the trie as it was
+    private void apply(Change change) {
+        if (change.before() != null) {
+            remove(change.before().getId());
+        }
+        if (change.after() != null) {
+            remove(change.after().getId());
+            add(change.after());
+        }
+    }
+
+    public List<CourseSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        limit = Math.min(limit, MAX_SUGGESTIONS);
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new LinkedHashSet<>();
+            collect(codes, key, ids, limit);
+            collect(titles, key, ids, limit);
+            List<CourseSuggestion> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                result.add(suggestions.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every node keeps its nearest completions, so a short prefix reads them off instead of walking
+    // its subtree. They are distinct courses, so even after the code matches took some of the limit
+    // there are enough title completions left to fill it.
+    private static void collect(Node root, String prefix, Set<Long> ids, int limit) {
+        Node start = root.find(prefix);
+        if (start == null) {
+            return;
+        }
+        for (Completion completion : start.top) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            ids.add(completion.id());
+        }
+    }
+
+    private void add(Course course) {
+        suggestions.put(course.getId(), CourseSuggestion.of(course));
+        for (String key : codeKeys(course)) {
+            codes.insert(key, course.getId());
+        }
+        for (String key : titleKeys(course)) {
+            titles.insert(key, course.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        CourseSuggestion previous = suggestions.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String key : codeKeys(previous.courseCode())) {
+            codes.delete(key, 0, id);
+        }
+        for (String key : titleKeys(previous.title())) {
+            titles.delete(key, 0, id);
+        }
+    }
+
+    private static Set<String> codeKeys(Course course) {
+        return codeKeys(course.getCourseCode());
+    }
+
+    private static Set<String> codeKeys(@Nullable String code) {
+        String key = normalize(code);
+        return key.isEmpty() ? Set.of() : Set.of(key);
+    }
+
+    private static Set<String> titleKeys(Course course) {
+        return titleKeys(course.getTitle());
+    }
+
+    // The title from the start of each word
+    private static Set<String> titleKeys(@Nullable String title) {
+        String normalized = normalize(title);
+        Set<String> keys = new TreeSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Change(@Nullable Course before, @Nullable Course after) {
+    }
+
+    // A course reachable under a node, through the full key it was inserted with
+    private record Completion(String key, Long id) {
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private final Set<Long> ids = new HashSet<>();
+        // The MAX_SUGGESTIONS nearest completions in this subtree, at most one per course: shorter keys
+        // first, then alphabetical, as a breadth-first walk would find them
+        private final List<Completion> top = new ArrayList<>();
+
+        void clear() {
+            children.clear();
+            ids.clear();
+            top.clear();
+        }
+
+        @Nullable
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        void insert(String key, Long id) {
+            Completion completion = new Completion(key, id);
+            Node node = this;
+            node.offer(completion);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                node.offer(completion);
+            }
+            node.ids.add(id);
+        }
+
+        // Returns true when this node is left empty and can be pruned by its parent
+        boolean delete(String key, int depth, Long id) {
+            if (depth == key.length()) {
+                ids.remove(id);
+            } else {
+                Node child = children.get(key.charAt(depth));
+                if (child != null && child.delete(key, depth + 1, id)) {
+                    children.remove(key.charAt(depth));
+                }
+            }
+            // The course may still be reachable through another key, and a full list may have had
+            // completions cut that now fit, so it is merged again from the children's lists
+            if (top.removeIf(completion -> completion.id().equals(id) && completion.key().equals(key))) {
+                top.clear();
+                String nodeKey = key.substring(0, depth);
+                ids.forEach(own -> offer(new Completion(nodeKey, own)));
+                children.values().forEach(child -> child.top.forEach(this::offer));
+            }
+            return ids.isEmpty() && children.isEmpty();
+        }
+
+        // Keeps the nearer of two completions for one course
+        private void offer(Completion completion) {
+            for (int i = 0; i < top.size(); i++) {
+                Completion listed = top.get(i);
+                if (listed.id().equals(completion.id())) {
+                    if (NEAREST_FIRST.compare(listed, completion) <= 0) {
+                        return;
+                    }
+                    top.remove(i);
+                    break;
+                }
+            }
+            int index = -Collections.binarySearch(top, completion, NEAREST_FIRST) - 1;
+            if (index < MAX_SUGGESTIONS) {
+                top.add(index, completion);
+                if (top.size() > MAX_SUGGESTIONS) {
+                    top.remove(MAX_SUGGESTIONS);
+                }
+            }
+        }
+    }
+}
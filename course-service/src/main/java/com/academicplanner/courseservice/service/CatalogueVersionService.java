@@ -0,0 +1,52 @@
+package com.academicplanner.courseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+// Shared catalogue version in Redis, bumped after every course write once caches are up to date.
+// Pre-encoded response bodies are keyed by it, so a body cached before a write stops being reused.
+@Service
+@RequiredArgsConstructor
+public class CatalogueVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueVersionService.class);
+    static final String VERSION_KEY = "course-catalogue:version";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // Null when Redis is unavailable, in which case response bodies are encoded per request
+    @Nullable
+    public Long current() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            if (version == null) {
+                initialize();
+                version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            }
+            return version != null ? Long.valueOf(version) : null;
+        } catch (Exception e) {
+            logger.warn("Could not read catalogue version: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void bump() {
+        try {
+            initialize();
+            Long version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            logger.debug("Catalogue version is now {}", version);
+        } catch (Exception e) {
+            // Cached bodies are still dropped by the course events; only the version key stays behind
+            logger.warn("Could not bump catalogue version: {}", e.getMessage());
+        }
+    }
+
+    // Start from the clock rather than zero, so a lost key can never hand out a version a client already holds
+    private void initialize() {
+        stringRedisTemplate.opsForValue().setIfAbsent(VERSION_KEY, String.valueOf(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.academicplanner.courseservice.service;
+
+import com.academicplanner.courseservice.cache.CourseEntityCache;
+import com.academicplanner.courseservice.cache.TwoTierCacheManager;
+import com.academicplanner.courseservice.dto.CourseBatchRequest;
+import com.academicplanner.courseservice.dto.CourseBatchResponse;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Resolves many courses per request: cached entries come from one Redis MGET across the id and code
+// caches, the rest from one IN query, and what the query finds (or doesn't) is written back to the
+// same entries the single-course endpoints use.
+@Service
+@RequiredArgsConstructor
+public class CourseBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseBatchService.class);
+
+    private final CourseRepository courseRepository;
+    private final CacheManager cacheManager;
+    private final CourseEntityCache courseEntityCache;
+
+    public CourseBatchResponse getCourses(CourseBatchRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.idsOrEmpty());
+        Set<String> codes = new LinkedHashSet<>(request.courseCodesOrEmpty());
+        ids.remove(null);
+        codes.remove(null);
+
+        List<String> idKeys = ids.stream().map(String::valueOf).toList();
+        Map<String, Map<String, Cache.ValueWrapper>> cached = lookupCached(idKeys, List.copyOf(codes));
+        Map<String, Cache.ValueWrapper> cachedById = cached.getOrDefault(CourseEntityCache.BY_ID, Map.of());
+        Map<String, Cache.ValueWrapper> cachedByCode = cached.getOrDefault(CourseEntityCache.BY_CODE, Map.of());
+
+        Map<Long, Course> byId = new HashMap<>();
+        Map<String, Course> byCode = new HashMap<>();
+        Set<Long> uncachedIds = new LinkedHashSet<>();
+        Set<String> uncachedCodes = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper wrapper = cachedById.get(String.valueOf(id));
+            if (wrapper == null) {
+                uncachedIds.add(id);
+            } else if (wrapper.get() instanceof Course course) {
+                byId.put(id, course);
+            }
+        }
+        for (String code : codes) {
+            Cache.ValueWrapper wrapper = cachedByCode.get(code);
+            if (wrapper == null) {
+                uncachedCodes.add(code);
+            } else if (wrapper.get() instanceof Course course) {
+                byCode.put(code, course);
+            }
+        }
+
+        if (!uncachedIds.isEmpty() || !uncachedCodes.isEmpty()) {
+            loadAndCache(uncachedIds, uncachedCodes, byId, byCode);
+        }
+        logger.debug("Batch lookup of {} ids and {} codes: {} from cache, {} ids and {} codes from the database",
+                ids.size(), codes.size(), cachedById.size() + cachedByCode.size(), uncachedIds.size(), uncachedCodes.size());
+
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingCodes = new ArrayList<>();
+        for (Long id : ids) {
+            Course course = byId.get(id);
+            if (course != null) {
+                courses.putIfAbsent(course.getId(), course);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String code : codes) {
+            Course course = byCode.get(code);
+            if (course != null) {
+                courses.putIfAbsent(course.getId(), course);
+            } else {
+                missingCodes.add(code);
+            }
+        }
+        return new CourseBatchResponse(new ArrayList<>(courses.values()), missingIds, missingCodes);
+    }
+
+    private Map<String, Map<String, Cache.ValueWrapper>> lookupCached(List<String> idKeys, List<String> codes) {
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            return twoTierCacheManager.getAll(Map.of(CourseEntityCache.BY_ID, idKeys, CourseEntityCache.BY_CODE, codes));
+        }
+        return Map.of(CourseEntityCache.BY_ID, lookupCached(CourseEntityCache.BY_ID, idKeys),
+                CourseEntityCache.BY_CODE, lookupCached(CourseEntityCache.BY_CODE, codes));
+    }
+
+    private Map<String, Cache.ValueWrapper> lookupCached(String cacheName, List<String> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<String, Cache.ValueWrapper> found = new HashMap<>();
+        for (String key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper);
+            }
+        }
+        return found;
+    }
+
+    // Found courses are cached under both id and code; requested keys with no course are cached as
+    // "not found", as a single lookup would
+    private void loadAndCache(Set<Long> ids, Set<String> codes, Map<Long, Course> byId, Map<String, Course> byCode) {
+        List<Course> loaded;
+        if (ids.isEmpty()) {
+            loaded = courseRepository.findByCourseCodeIn(codes);
+        } else if (codes.isEmpty()) {
+            loaded = courseRepository.findAllById(ids);
+        } else {
+            loaded = courseRepository.findByIdInOrCourseCodeIn(ids, codes);
+        }
+
+        Map<Long, Course> idEntries = new HashMap<>();
+        Map<String, Course> codeEntries = new HashMap<>();
+        for (Course course : loaded) {
+            idEntries.put(course.getId(), course);
+            codeEntries.put(course.getCourseCode(), course);
+            if (ids.contains(course.getId())) {
+                byId.put(course.getId(), course);
+            }
+            if (codes.contains(course.getCourseCode())) {
+                byCode.put(course.getCourseCode(), course);
+            }
+        }
+        ids.stream().filter(id -> !byId.containsKey(id)).forEach(id -> idEntries.put(id, null));
+        codes.stream().filter(code -> !byCode.containsKey(code)).forEach(code -> codeEntries.put(code, null));
+        courseEntityCache.putAll(idEntries, codeEntries);
+    }
+}
@@ -0,0 +1,262 @@
+package com.academicplanner.courseservice.service;
+
+import com.academicplanner.courseservice.dto.CourseImportError;
+import com.academicplanner.courseservice.dto.CourseImportResult;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CatalogueImportedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import for seeding a term. Every row is validated (bean constraints, duplicates within the
+// upload and against the catalogue) before anything is written, then all rows go in one
+// transaction as JDBC batches of batch-size, flushing and clearing the persistence context
+// between batches. Caches see a single CatalogueImportedEvent rather than one event per course.
+@Service
+public class CourseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseImportService.class);
+    private static final int MAX_ERRORS = 100;
+    // Keeps the existing-code lookups well under Postgres' bind parameter limit
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogueVersionService catalogueVersionService;
+    private final int batchSize;
+    private final int maxRows;
+
+    public CourseImportService(CourseRepository courseRepository,
+                               EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               CatalogueVersionService catalogueVersionService,
+                               @Value("${course-import.batch-size:500}") int batchSize,
+                               @Value("${course-import.max-rows:50000}") int maxRows) {
+        this.courseRepository = courseRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.catalogueVersionService = catalogueVersionService;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    // A JSON array of courses, read one element at a time
+    public CourseImportResult importJson(InputStream body) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return CourseImportResult.rejected(0, List.of(new CourseImportError(0, null, "Expected a JSON array of courses")));
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    return CourseImportResult.rejected(courses.size() + 1, List.of(new CourseImportError(courses.size() + 1, null,
+                            "Expected a course object, found " + (token != null ? token : "end of input"))));
+                }
+                if (courses.size() == maxRows) {
+                    return tooManyRows();
+                }
+                courses.add(objectMapper.readValue(parser, Course.class));
+            }
+            if (parser.nextToken() != null) {
+                return CourseImportResult.rejected(courses.size(), List.of(new CourseImportError(0, null,
+                        "Unexpected content after the array of courses")));
+            }
+        }
+        return importCourses(courses, new ArrayList<>());
+    }
+
+    // CSV with a header row naming the columns: courseCode (or course_code), title, description,
+    // department, credits. Fields may be quoted, with "" for a quote inside a quoted field.
+    public CourseImportResult importCsv(Reader body) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        List<CourseImportError> errors = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(body)) {
+            List<String> header = readCsvRecord(reader);
+            if (header == null) {
+                return CourseImportResult.rejected(0, List.of(new CourseImportError(0, null, "Missing CSV header")));
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("coursecode")) {
+                return CourseImportResult.rejected(0, List.of(new CourseImportError(0, null, "CSV header has no courseCode column")));
+            }
+
+            List<String> record;
+            while ((record = readCsvRecord(reader)) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (courses.size() == maxRows) {
+                    return tooManyRows();
+                }
+                Course course = new Course(column(record, columns, "coursecode"), column(record, columns, "title"),
+                        column(record, columns, "description"), column(record, columns, "department"), null);
+                String credits = column(record, columns, "credits");
+                if (credits != null) {
+                    try {
+                        course.setCredits(Integer.valueOf(credits.trim()));
+                    } catch (NumberFormatException e) {
+                        addError(errors, courses.size() + 1, course.getCourseCode(), "credits: not a number: " + credits);
+                    }
+                }
+                courses.add(course);
+            }
+        }
+        return importCourses(courses, errors);
+    }
+
+    private CourseImportResult importCourses(List<Course> courses, List<CourseImportError> errors) {
+        validate(courses, errors);
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(CourseImportError::row));
+            return CourseImportResult.rejected(courses.size(), errors);
+        }
+        if (courses.isEmpty()) {
+            return new CourseImportResult(0, 0, 0, 0, List.of());
+        }
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < courses.size(); i++) {
+                entityManager.persist(courses.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = courses.size() / (elapsedNanos / 1_000_000_000.0);
+        logger.info("Imported {} courses in {} ms ({} rows/s, batch size {})", courses.size(),
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond), batchSize);
+
+        eventPublisher.publishEvent(new CatalogueImportedEvent(List.copyOf(courses), false));
+        catalogueVersionService.bump();
+        return new CourseImportResult(courses.size(), courses.size(), elapsedNanos / 1_000_000,
+                Math.round(rowsPerSecond * 10) / 10.0, List.of());
+    }
+
+    private void validate(List<Course> courses, List<CourseImportError> errors) {
+        Map<String, Integer> rowsByCode = new HashMap<>();
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            int row = i + 1;
+            // Ids are always assigned here, never taken from the upload
+            course.setId(null);
+            for (ConstraintViolation<Course> violation : validator.validate(course)) {
+                addError(errors, row, course.getCourseCode(), violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            if (course.getCourseCode() != null) {
+                Integer first = rowsByCode.putIfAbsent(course.getCourseCode(), row);
+                if (first != null) {
+                    addError(errors, row, course.getCourseCode(), "Duplicate of row " + first);
+                }
+            }
+        }
+
+        List<String> codes = new ArrayList<>(rowsByCode.keySet());
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < codes.size(); from += LOOKUP_CHUNK) {
+            courseRepository.findByCourseCodeIn(codes.subList(from, Math.min(from + LOOKUP_CHUNK, codes.size())))
+                    .forEach(course -> existing.add(course.getCourseCode()));
+        }
+        existing.forEach(code -> addError(errors, rowsByCode.get(code), code, "Course code already exists"));
+    }
+
+    private CourseImportResult tooManyRows() {
+        return CourseImportResult.rejected(maxRows,
+                List.of(new CourseImportError(maxRows + 1, null, "Imports are limited to " + maxRows + " rows")));
+    }
+
+    private static void addError(List<CourseImportError> errors, int row, String courseCode, String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new CourseImportError(row, courseCode, message));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // One RFC 4180 record; quoted fields may span lines. Null at end of input.
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,65 +1,175 @@
 package com.academicplanner.courseservice.service;
 
+import com.academicplanner.courseservice.cache.CourseEntityCache;
+import com.academicplanner.courseservice.dto.CourseCodeFilterSnapshot;
+import com.academicplanner.courseservice.dto.CoursePage;
+import com.academicplanner.courseservice.dto.DepartmentStats;
 import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
 import com.academicplanner.courseservice.repository.CourseRepository;
+import com.academicplanner.courseservice.search.CourseCodeFilter;
+import com.academicplanner.courseservice.search.CourseSearchIndex;
+import com.academicplanner.courseservice.search.CourseSuggestion;
+import com.academicplanner.courseservice.search.CourseSuggestionTrie;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
     private final CourseRepository courseRepository;
-    
-    @Cacheable(value = "courses")
+    private final CourseEntityCache courseEntityCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseSearchIndex courseSearchIndex;
+    private final CourseSuggestionTrie courseSuggestionTrie;
+    private final CourseCodeFilter courseCodeFilter;
+    private final EntityManager entityManager;
+    private final CatalogueVersionService catalogueVersionService;
+
+    @Value("${course-search.full-text.enabled:true}")
+    private boolean fullTextSearch;
+
+    @Cacheable(value = "courses", key = "'all'", sync = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
-    
-    @Cacheable(value = "course", key = "#id")
+
+    // Keyset pages read straight from the database; each page is an index range scan on id
+    public CoursePage getCoursesPage(@Nullable Long after, int size) {
+        List<Course> rows = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, PageRequest.ofSize(size + 1));
+        return toPage(rows, size);
+    }
+
+    public CoursePage getCoursesByDepartmentPage(String department, @Nullable Long after, int size) {
+        List<Course> rows = courseRepository.findByDepartmentIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                department, after != null ? after : 0L, PageRequest.ofSize(size + 1));
+        return toPage(rows, size);
+    }
+
+    // Rows are handed over as the JDBC cursor yields them and detached once written, so the
+    // persistence context never holds more than the current row
+    @Transactional(readOnly = true)
+    public void forEachCourse(@Nullable String department, Consumer<Course> consumer) {
+        try (Stream<Course> courses = department != null
+                ? courseRepository.streamByDepartment(department)
+                : courseRepository.streamAll()) {
+            courses.forEach(course -> {
+                consumer.accept(course);
+                entityManager.detach(course);
+            });
+        }
+    }
+
+    // Cached under both id and code; an unknown id or code is cached as "not found" for the negative-ttl
     public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+        return courseEntityCache.getById(id);
     }
-    
-    @Cacheable(value = "course", key = "#courseCode")
+
     public Optional<Course> getCourseByCourseCode(String courseCode) {
-        return courseRepository.findByCourseCode(courseCode);
+        return courseEntityCache.getByCode(courseCode);
     }
-    
-    @Cacheable(value = "coursesByDepartment", key = "#department")
+
+    // Department lookups ignore case, so the key does too
+    @Cacheable(value = "coursesByDepartment", key = "#department.toLowerCase()", sync = true)
     public List<Course> getCoursesByDepartment(String department) {
         return courseRepository.findByDepartmentIgnoreCase(department);
     }
-    
-    @Cacheable(value = "coursesByKeyword", key = "#keyword")
+
+    // Served ranked from the in-memory index once it is built; until then (or with the index
+    // disabled) falls back to a cached database query, ranked and index-backed unless full-text is off
+    @Cacheable(value = "coursesByKeyword", key = "#keyword", sync = true, condition = "!@courseSearchIndex.ready")
     public List<Course> searchCoursesByKeyword(String keyword) {
+        if (courseSearchIndex.isReady()) {
+            return courseSearchIndex.search(keyword);
+        }
+        if (fullTextSearch) {
+            return courseRepository.searchRanked(keyword);
+        }
         return courseRepository.findByKeyword(keyword);
     }
-    
-    @Cacheable(value = "departments")
+
+    // Answered from memory on every keystroke, so deliberately not cached; until the trie is built
+    // (warm-up still running or failed) the same matches come from the database
+    public List<CourseSuggestion> suggestCourses(String prefix, int limit) {
+        if (courseSuggestionTrie.isReady()) {
+            return courseSuggestionTrie.suggest(prefix, limit);
+        }
+        String key = prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String escaped = key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return courseRepository.suggestByPrefix(escaped, PageRequest.ofSize(limit));
+    }
+
+    public CourseCodeFilterSnapshot getCourseCodeFilter() {
+        return courseCodeFilter.snapshot();
+    }
+
+    @Cacheable(value = "departments", key = "'all'", sync = true)
     public List<String> getAllDepartments() {
         return courseRepository.findAllDepartments();
     }
-    
-    @CacheEvict(value = {"courses", "coursesByDepartment", "departments", "coursesByKeyword"}, allEntries = true)
+
+    @Cacheable(value = "departmentStats", key = "'all'", sync = true)
+    public List<DepartmentStats> getDepartmentStats() {
+        return courseRepository.findDepartmentStats();
+    }
+
+    // Cache maintenance for writes is done by CourseCacheInvalidator from the published event; the
+    // catalogue version, which keys the pre-encoded response bodies, is bumped only after that
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course created = courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.created(created));
+        catalogueVersionService.bump();
+        return created;
     }
-    
-    @CachePut(value = "course", key = "#result.id")
-    @CacheEvict(value = {"courses", "coursesByDepartment", "departments", "coursesByKeyword"}, allEntries = true)
+
     public Course updateCourse(Course course) {
-        return courseRepository.save(course);
+        // A copy: under open-session-in-view findById and save share one managed instance, so save
+        // would otherwise overwrite the old code and department the listeners need to evict
+        Course before = courseRepository.findById(course.getId()).map(CourseService::snapshot).orElse(null);
+        Course updated = courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.updated(before, updated));
+        catalogueVersionService.bump();
+        return updated;
     }
-    
-    @CacheEvict(value = {"course", "courses", "coursesByDepartment", "departments", "coursesByKeyword"}, allEntries = true)
+
     public void deleteCourse(Long id) {
+        Optional<Course> before = courseRepository.findById(id);
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(CourseChangedEvent.deleted(before.orElse(null)));
+        catalogueVersionService.bump();
+    }
+
+    private static Course snapshot(Course course) {
+        Course copy = new Course(course.getCourseCode(), course.getTitle(), course.getDescription(),
+                course.getDepartment(), course.getCredits());
+        copy.setId(course.getId());
+        return copy;
+    }
+
+    // One extra row is fetched to tell whether another page follows
+    private static CoursePage toPage(List<Course> rows, int size) {
+        if (rows.size() <= size) {
+            return new CoursePage(rows, null);
+        }
+        List<Course> items = List.copyOf(rows.subList(0, size));
+        return new CoursePage(items, items.get(size - 1).getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+-- Baseline schema, matching what Hibernate generated from the Course entity
+CREATE TABLE courses
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_code VARCHAR(255) NOT NULL UNIQUE,
+    title       VARCHAR(255),
+    description VARCHAR(1000),
+    department  VARCHAR(255),
+    credits     INTEGER,
+    -- Not mapped by the entity; filled for rows inserted by data.sql and ad-hoc scripts
+    created_at  TIMESTAMP(6) DEFAULT NOW(),
+    updated_at  TIMESTAMP(6) DEFAULT NOW()
+);
@@ -0,0 +1,16 @@
+-- Index-backed keyword search
+--  * trigram GIN indexes serve the case-insensitive substring matches (LOWER(col) LIKE '%kw%')
+--  * a weighted tsvector (code > title > description) serves ranked full-text matches
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE courses
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(course_code, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(title, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+        ) STORED;
+
+CREATE INDEX idx_courses_search_vector ON courses USING GIN (search_vector);
+CREATE INDEX idx_courses_course_code_trgm ON courses USING GIN (LOWER(course_code) gin_trgm_ops);
+CREATE INDEX idx_courses_title_trgm ON courses USING GIN (LOWER(title) gin_trgm_ops);
+CREATE INDEX idx_courses_description_trgm ON courses USING GIN (LOWER(description) gin_trgm_ops);
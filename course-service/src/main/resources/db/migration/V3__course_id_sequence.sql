@@ -0,0 +1,12 @@
+-- Course ids come from a sequence Hibernate reserves in blocks of 50 (the pooled-lo optimizer,
+-- see hibernate.id.optimizer.pooled.preferred), so bulk imports can batch their inserts. With
+-- IDENTITY every insert is its own round trip to learn the generated id.
+--
+-- Plain inserts that leave id out still work: each takes a value from the sequence, which under
+-- pooled-lo is never inside a block Hibernate has handed out.
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE courses_id_seq INCREMENT BY 50 OWNED BY courses.id;
+SELECT setval('courses_id_seq', COALESCE((SELECT MAX(id) FROM courses), 0) + 1, false);
+
+ALTER TABLE courses ALTER COLUMN id SET DEFAULT nextval('courses_id_seq');
@@ -0,0 +1,70 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.cache.CacheWarmer;
+import com.academicplanner.courseservice.cache.CacheWarmupHealthIndicator;
+import com.academicplanner.courseservice.cache.CourseCacheProperties;
+import com.academicplanner.courseservice.cache.CourseResponseCache;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.search.CourseCodeFilter;
+import com.academicplanner.courseservice.search.CourseSearchIndex;
+import com.academicplanner.courseservice.search.CourseSuggestionTrie;
+import com.academicplanner.courseservice.service.CatalogueVersionService;
+import com.academicplanner.courseservice.service.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmerTest {
+
+    @Test
+    void staysOutOfServiceUntilEveryListIsWarm() throws InterruptedException {
+        List<Course> catalogue = List.of(
+                new Course("CS101", "Introduction to Programming", null, "Computer Science", 3),
+                new Course("CS201", "Data Structures", null, "computer science", 3),
+                new Course("PSY101", "Introduction to Psychology", null, "Psychology", 3));
+        CourseService courseService = mock(CourseService.class);
+        when(courseService.getAllCourses()).thenReturn(catalogue);
+        when(courseService.getAllDepartments()).thenReturn(List.of("Computer Science", "Psychology"));
+        CatalogueVersionService versionService = mock(CatalogueVersionService.class);
+        when(versionService.current()).thenReturn(1L);
+        CourseSearchIndex searchIndex = mock(CourseSearchIndex.class);
+        CourseSuggestionTrie suggestionTrie = mock(CourseSuggestionTrie.class);
+        CourseCodeFilter codeFilter = mock(CourseCodeFilter.class);
+
+        CourseCacheProperties properties = new CourseCacheProperties();
+        properties.getWarmup().setTimeout(Duration.ofSeconds(10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CourseResponseCache responseCache = new CourseResponseCache(new ObjectMapper(), properties, meterRegistry);
+        CacheWarmer warmer = new CacheWarmer(courseService, versionService, responseCache,
+                searchIndex, suggestionTrie, codeFilter, properties, meterRegistry);
+        CacheWarmupHealthIndicator health = new CacheWarmupHealthIndicator(warmer);
+
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        warmer.onApplicationReady();
+
+        verify(searchIndex, timeout(5000)).build(catalogue);
+        verify(suggestionTrie, timeout(5000)).build(catalogue);
+        verify(codeFilter, timeout(5000)).build(catalogue);
+        verify(courseService, timeout(5000)).getAllDepartments();
+        // Departments differing only in case share one cache entry
+        verify(courseService, timeout(5000)).getCoursesByDepartment("Computer Science");
+        verify(courseService, timeout(5000)).getCoursesByDepartment("Psychology");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!warmer.isComplete() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(meterRegistry.get("course.cache.warmup").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.cache.CourseCacheInvalidator;
+import com.academicplanner.courseservice.cache.CourseEntityCache;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the same mixed read/write workload against allEntries eviction and against
+ * CourseCacheInvalidator, and compares the resulting cache hit ratios.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class CourseCacheInvalidationBenchmarkTest {
+
+    private static final int COURSES = 400;
+    private static final int OPERATIONS = 200_000;
+    private static final double WRITE_RATIO = 0.01;
+    private static final List<String> DEPARTMENTS = List.of(
+            "Computer Science", "Mathematics", "English", "History", "Physics", "Chemistry", "Biology", "Economics");
+    private static final List<String> KEYWORDS = List.of(
+            "intro", "advanced", "data", "theory", "lab", "seminar", "calculus", "writing", "cs1", "math2");
+
+    @Test
+    void targetedInvalidationKeepsHitRatioHigherThanAllEntriesEviction() {
+        double allEntries = run(caches -> List.of(
+                        CourseEntityCache.BY_ID, CourseEntityCache.BY_CODE, CourseCacheInvalidator.COURSES,
+                        CourseCacheInvalidator.COURSES_BY_DEPARTMENT, CourseCacheInvalidator.DEPARTMENTS,
+                        CourseCacheInvalidator.COURSES_BY_KEYWORD)
+                .forEach(name -> caches.getCache(name).clear()));
+
+        double targeted = run(null);
+
+        System.out.printf("Cache hit ratio over %,d operations (%.0f%% writes): allEntries=%.3f targeted=%.3f%n",
+                OPERATIONS, WRITE_RATIO * 100, allEntries, targeted);
+        assertThat(targeted).isGreaterThan(allEntries);
+    }
+
+    // A null evictAll runs the targeted invalidator instead
+    private double run(Consumer<CacheManager> evictAll) {
+        Random random = new Random(42);
+        CacheManager cacheManager = new ConcurrentMapCacheManager();
+        CourseEntityCache courseEntityCache = new CourseEntityCache(cacheManager, null);
+        // Full-text search off: keyword results are the substring matches simulated below
+        CourseCacheInvalidator invalidator = new CourseCacheInvalidator(cacheManager, courseEntityCache, false);
+        List<Course> database = seed();
+        long[] counters = new long[2];
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (random.nextDouble() < WRITE_RATIO) {
+                Course before = database.get(random.nextInt(database.size()));
+                Course after = copy(before);
+                after.setTitle(before.getTitle() + " " + KEYWORDS.get(random.nextInt(KEYWORDS.size())));
+                database.set(database.indexOf(before), after);
+                if (evictAll == null) {
+                    invalidator.onCourseChanged(CourseChangedEvent.updated(before, after));
+                } else {
+                    evictAll.accept(cacheManager);
+                    courseEntityCache.put(after);
+                }
+                continue;
+            }
+
+            switch (random.nextInt(5)) {
+                case 0 -> read(cacheManager, CourseCacheInvalidator.COURSES, CourseCacheInvalidator.ALL,
+                        () -> List.copyOf(database), counters);
+                case 1 -> read(cacheManager, CourseCacheInvalidator.DEPARTMENTS, CourseCacheInvalidator.ALL,
+                        () -> database.stream().map(Course::getDepartment).distinct().sorted().toList(), counters);
+                case 2 -> {
+                    String department = DEPARTMENTS.get(random.nextInt(DEPARTMENTS.size()));
+                    read(cacheManager, CourseCacheInvalidator.COURSES_BY_DEPARTMENT,
+                            CourseCacheInvalidator.departmentKey(department),
+                            () -> database.stream().filter(c -> c.getDepartment().equalsIgnoreCase(department)).toList(),
+                            counters);
+                }
+                case 3 -> {
+                    String keyword = KEYWORDS.get(random.nextInt(KEYWORDS.size()));
+                    read(cacheManager, CourseCacheInvalidator.COURSES_BY_KEYWORD, keyword,
+                            () -> database.stream().filter(c -> matches(c, keyword)).toList(), counters);
+                }
+                default -> {
+                    Course course = database.get(random.nextInt(database.size()));
+                    read(cacheManager, CourseEntityCache.BY_CODE, course.getCourseCode(), () -> course, counters);
+                }
+            }
+        }
+        return (double) counters[0] / (counters[0] + counters[1]);
+    }
+
+    private static void read(CacheManager cacheManager, String cacheName, Object key, Supplier<Object> loader,
+                             long[] counters) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache.get(key) != null) {
+            counters[0]++;
+        } else {
+            counters[1]++;
+            cache.put(key, loader.get());
+        }
+    }
+
+    private static List<Course> seed() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            String department = DEPARTMENTS.get(i % DEPARTMENTS.size());
+            Course course = new Course(
+                    department.substring(0, 4).toUpperCase(Locale.ROOT) + (100 + i),
+                    (i % 3 == 0 ? "Intro to " : "Advanced ") + department + " " + i,
+                    "Course " + i + (i % 7 == 0 ? " with lab" : " seminar"),
+                    department,
+                    3);
+            course.setId((long) i + 1);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    private static Course copy(Course source) {
+        Course course = new Course(source.getCourseCode(), source.getTitle(), source.getDescription(),
+                source.getDepartment(), source.getCredits());
+        course.setId(source.getId());
+        return course;
+    }
+
+    private static boolean matches(Course course, String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return course.getTitle().toLowerCase(Locale.ROOT).contains(needle)
+                || course.getDescription().toLowerCase(Locale.ROOT).contains(needle)
+                || course.getCourseCode().toLowerCase(Locale.ROOT).contains(needle);
+    }
+}
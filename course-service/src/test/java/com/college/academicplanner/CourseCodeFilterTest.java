@@ -0,0 +1,109 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.dto.CourseCodeFilterSnapshot;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import com.academicplanner.courseservice.search.CourseCodeFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CourseCodeFilterTest {
+
+    private CourseCodeFilter filter;
+    private List<Course> catalogue;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CourseCodeFilter(mock(CourseRepository.class), 0.01, Duration.ZERO);
+        catalogue = new ArrayList<>();
+        IntStream.range(0, 5000).forEach(i -> catalogue.add(course((long) i, "CS" + i)));
+        filter.build(catalogue);
+    }
+
+    @Test
+    void neverRejectsAKnownCodeAndRarelyAcceptsAnUnknownOne() {
+        assertThat(catalogue).allMatch(course -> filter.mightContain(course.getCourseCode()));
+
+        long falsePositives = IntStream.range(0, 20_000).filter(i -> filter.mightContain("MATH" + i)).count();
+        assertThat(falsePositives / 20_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void addsNewCodesInPlaceAndChangesVersion() {
+        String before = filter.snapshot().version();
+        assertThat(filter.mightContain("NEW999")).isFalse();
+
+        filter.onCourseChanged(CourseChangedEvent.created(course(9999L, "NEW999")));
+
+        assertThat(filter.mightContain("NEW999")).isTrue();
+        assertThat(filter.snapshot().version()).isNotEqualTo(before);
+    }
+
+    @Test
+    void keepsCodesAddedBeforeTheFirstBuild() {
+        CourseCodeFilter unbuilt = new CourseCodeFilter(mock(CourseRepository.class), 0.01, Duration.ZERO);
+
+        // Created after the warmer read the catalogue, before it built the filter
+        unbuilt.onCourseChanged(CourseChangedEvent.created(course(9999L, "NEW999")));
+        unbuilt.build(catalogue);
+
+        assertThat(unbuilt.mightContain("NEW999")).isTrue();
+        assertThat(unbuilt.mightContain("CS42")).isTrue();
+    }
+
+    @Test
+    void snapshotDecodesToTheSameAnswers() {
+        CourseCodeFilterSnapshot snapshot = filter.snapshot();
+        long[] words = new long[(snapshot.numBits() + 63) / 64];
+        ByteBuffer.wrap(Base64.getDecoder().decode(snapshot.bits())).order(ByteOrder.LITTLE_ENDIAN)
+                .asLongBuffer().get(words);
+
+        for (String code : List.of("CS1", "CS4999", "MATH1", "PSY101", "X")) {
+            assertThat(decodedMightContain(snapshot, words, code)).as(code).isEqualTo(filter.mightContain(code));
+        }
+        assertThat(snapshot.hash()).isEqualTo(CourseCodeFilter.HASH);
+        assertThat(filter.snapshot()).isSameAs(snapshot);
+    }
+
+    // What a caller does with the published filter, following the layout documented on CourseCodeFilter
+    private static boolean decodedMightContain(CourseCodeFilterSnapshot snapshot, long[] words, String code) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : code.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < snapshot.numHashes(); i++) {
+            int bit = Math.floorMod(h1 + i * h2, snapshot.numBits());
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Course course(Long id, String code) {
+        Course course = new Course(code, "Course " + code, null, "Computer Science", 3);
+        course.setId(id);
+        return course;
+    }
+}
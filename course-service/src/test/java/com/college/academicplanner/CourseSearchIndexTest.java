@@ -0,0 +1,86 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import com.academicplanner.courseservice.search.CourseSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAll()).thenReturn(List.of(
+                course(1L, "CS101", "Introduction to Programming", "Basic programming concepts using Java", "Computer Science"),
+                course(2L, "CS201", "Data Structures", "Lists, trees and graphs in Java", "Computer Science"),
+                course(3L, "MATH101", "Calculus I", "Limits, derivatives and integrals", "Mathematics"),
+                course(4L, "ENG110", "Technical Writing", "Writing documentation for programming projects", "English")));
+        index = new CourseSearchIndex(courseRepository, true);
+        index.build();
+    }
+
+    @Test
+    void ranksCodeMatchesAboveTitleAboveDescription() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("programming")).extracting(Course::getCourseCode).containsExactly("CS101", "ENG110");
+        assertThat(index.search("cs101")).extracting(Course::getCourseCode).containsExactly("CS101");
+        assertThat(index.search("Java")).extracting(Course::getCourseCode).containsExactly("CS101", "CS201");
+        assertThat(index.search("zzz")).isEmpty();
+    }
+
+    @Test
+    void shortKeywordsStillMatchSubstrings() {
+        assertThat(index.search("I")).extracting(Course::getCourseCode).contains("CS101", "MATH101", "ENG110");
+    }
+
+    @Test
+    void followsCourseChanges() {
+        Course before = course(3L, "MATH101", "Calculus I", "Limits, derivatives and integrals", "Mathematics");
+        Course after = course(3L, "MATH101", "Linear Algebra", "Vectors and matrices", "Mathematics");
+        index.onCourseChanged(CourseChangedEvent.updated(before, after));
+        assertThat(index.search("calculus")).isEmpty();
+        assertThat(index.search("matrices")).extracting(Course::getTitle).containsExactly("Linear Algebra");
+
+        index.onCourseChanged(CourseChangedEvent.created(
+                course(5L, "CS301", "Algorithms", "Sorting and graph algorithms", "Computer Science")));
+        assertThat(index.search("graph")).extracting(Course::getCourseCode).containsExactly("CS201", "CS301");
+
+        index.onCourseChanged(CourseChangedEvent.deleted(
+                course(2L, "CS201", "Data Structures", "Lists, trees and graphs in Java", "Computer Science")));
+        assertThat(index.search("graph")).extracting(Course::getCourseCode).containsExactly("CS301");
+    }
+
+    @Test
+    void replaysChangesThatArriveBetweenTheCatalogueLoadAndTheBuild() {
+        CourseSearchIndex fresh = new CourseSearchIndex(mock(CourseRepository.class), true);
+        Course calculus = course(3L, "MATH101", "Calculus I", "Limits, derivatives and integrals", "Mathematics");
+        List<Course> loaded = List.of(calculus,
+                course(2L, "CS201", "Data Structures", "Lists, trees and graphs in Java", "Computer Science"));
+
+        fresh.onCourseChanged(CourseChangedEvent.updated(calculus,
+                course(3L, "MATH101", "Linear Algebra", "Vectors and matrices", "Mathematics")));
+        fresh.onCourseChanged(CourseChangedEvent.created(
+                course(5L, "CS301", "Algorithms", "Sorting and graph algorithms", "Computer Science")));
+        fresh.build(loaded);
+
+        assertThat(fresh.search("calculus")).isEmpty();
+        assertThat(fresh.search("matrices")).extracting(Course::getCourseCode).containsExactly("MATH101");
+        assertThat(fresh.search("graph")).extracting(Course::getCourseCode).containsExactly("CS201", "CS301");
+    }
+
+    private static Course course(Long id, String code, String title, String description, String department) {
+        Course course = new Course(code, title, description, department, 3);
+        course.setId(id);
+        return course;
+    }
+}
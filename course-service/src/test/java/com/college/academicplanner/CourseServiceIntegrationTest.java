@@ -1,8 +1,14 @@
 package com.college.academicplanner;
 
 import com.academicplanner.courseservice.CourseServiceApplication;
+import com.academicplanner.courseservice.dto.CourseBatchRequest;
+import com.academicplanner.courseservice.dto.CourseBatchResponse;
+import com.academicplanner.courseservice.dto.CourseImportError;
+import com.academicplanner.courseservice.dto.CourseImportResult;
+import com.academicplanner.courseservice.dto.DepartmentStats;
 import com.academicplanner.courseservice.entity.Course;
 import com.academicplanner.courseservice.repository.CourseRepository;
+import com.academicplanner.courseservice.search.CourseCodeFilter;
 import com.academicplanner.courseservice.service.CourseService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dasniko.testcontainers.keycloak.KeycloakContainer;
@@ -30,9 +36,19 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -72,8 +88,8 @@ class CourseServiceIntegrationTest {
         registry.add("spring.data.redis.host", redis::getHost);
         registry.add("spring.data.redis.port", redis::getFirstMappedPort);
 
-        // JPA configuration
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        // JPA configuration: schema comes from the Flyway migrations
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
 
         // Keycloak configuration
         String keycloakUrl = keycloak.getAuthServerUrl();
@@ -104,6 +120,9 @@ class CourseServiceIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CourseCodeFilter courseCodeFilter;
+
     private String baseUrl;
 
     @BeforeAll
@@ -488,4 +507,266 @@ class CourseServiceIntegrationTest {
 //        assertThat(response.getBody()).hasSize(2);
 //        assertThat(response.getBody()).extracting(Course::getTitle).allMatch(title -> title.toLowerCase().contains("programming"));
 //    }
+
+    @Test
+    @Order(13)
+    void shouldPageAndStreamPublicCoursesInIdOrder() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            courseRepository.save(new Course("CS10" + i, "Course " + i, "Description " + i, "Computer Science", 3));
+        }
+
+        // When - Walk the catalogue two courses at a time
+        List<String> codes = new ArrayList<>();
+        Long after = null;
+        do {
+            String url = baseUrl + "/public/page?size=2" + (after != null ? "&after=" + after : "");
+            ResponseEntity<Map> page = restTemplate.getForEntity(url, Map.class);
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            for (Object item : (List<?>) page.getBody().get("items")) {
+                codes.add((String) ((Map<?, ?>) item).get("courseCode"));
+            }
+            Object next = page.getBody().get("nextCursor");
+            after = next != null ? ((Number) next).longValue() : null;
+        } while (after != null);
+
+        // Then
+        assertThat(codes).containsExactly("CS101", "CS102", "CS103", "CS104", "CS105");
+
+        ResponseEntity<String> stream = restTemplate.getForEntity(baseUrl + "/public/stream", String.class);
+        assertThat(stream.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stream.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        assertThat(stream.getBody().split("\n")).hasSize(5);
+    }
+
+    @Test
+    @Order(14)
+    void shouldAllowStudentToResolveCoursesInBatch() {
+        // Given
+        Course cs101 = courseRepository.save(new Course("CS101", "Intro to Programming", "Basic programming", "Computer Science", 3));
+        courseRepository.save(new Course("MATH101", "Calculus I", "Differential calculus", "Mathematics", 4));
+
+        String studentToken = getAccessToken("student", "student123");
+        HttpEntity<CourseBatchRequest> request = new HttpEntity<>(
+                new CourseBatchRequest(List.of(cs101.getId(), 999_999L), List.of("MATH101", "CS101", "NOPE999")),
+                createAuthHeaders(studentToken));
+
+        // When - Twice, so the second call is answered from the cache
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<CourseBatchResponse> response = restTemplate.exchange(
+                    baseUrl + "/batch", HttpMethod.POST, request, CourseBatchResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().courses()).extracting(Course::getCourseCode).containsExactly("CS101", "MATH101");
+            assertThat(response.getBody().missingIds()).containsExactly(999_999L);
+            assertThat(response.getBody().missingCourseCodes()).containsExactly("NOPE999");
+        }
+    }
+
+    @Test
+    @Order(15)
+    void shouldAnswerNotModifiedUntilCatalogueChanges() {
+        // Given
+        courseRepository.save(new Course("CS101", "Intro to Programming", "Basic programming", "Computer Science", 3));
+        ResponseEntity<String> first = restTemplate.getForEntity(baseUrl + "/public", String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+
+        // When - Nothing has changed
+        ResponseEntity<String> unchanged = restTemplate.exchange(
+                baseUrl + "/public", HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+
+        // Then
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+
+        // When - A course is created
+        courseService.createCourse(new Course("MATH101", "Calculus I", "Differential calculus", "Mathematics", 4));
+        ResponseEntity<String> changed = restTemplate.exchange(
+                baseUrl + "/public", HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+
+        // Then
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    @Order(16)
+    void shouldReturnDepartmentStatsAndRefreshThemOnWrite() {
+        // Given
+        courseService.createCourse(new Course("CS101", "Intro to Programming", "Basic programming", "Computer Science", 3));
+        courseService.createCourse(new Course("CS201", "Data Structures", "Lists and trees", "Computer Science", 4));
+        courseService.createCourse(new Course("MATH101", "Calculus I", "Differential calculus", "Mathematics", 4));
+
+        // When
+        ResponseEntity<DepartmentStats[]> first = restTemplate.getForEntity(
+                baseUrl + "/public/departments/stats", DepartmentStats[].class);
+
+        // Then
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).containsExactly(
+                new DepartmentStats("Computer Science", 2L, 7L),
+                new DepartmentStats("Mathematics", 1L, 4L));
+
+        // When - A course is added to an existing department
+        courseService.createCourse(new Course("MATH201", "Linear Algebra", "Matrices", "Mathematics", 3));
+        ResponseEntity<DepartmentStats[]> second = restTemplate.getForEntity(
+                baseUrl + "/public/departments/stats", DepartmentStats[].class);
+
+        // Then
+        assertThat(second.getBody()).contains(new DepartmentStats("Mathematics", 2L, 7L));
+    }
+
+    @Test
+    @Order(17)
+    void shouldResumeCourseFeedFromLastEventId() throws Exception {
+        // Given - A new subscriber is told where the feed currently is
+        String studentToken = getAccessToken("student", "student123");
+        Map<String, String> reset = firstFeedEvent(studentToken, null);
+        assertThat(reset).containsEntry("event", "reset");
+        long position = Long.parseLong(reset.get("id"));
+
+        // When - A course is created while nobody is connected, and the subscriber resumes
+        Course created = courseService.createCourse(
+                new Course("PHYS101", "Mechanics", "Newtonian mechanics", "Physics", 4));
+        Map<String, String> next = firstFeedEvent(studentToken, position);
+
+        // Then - The missed change is replayed with the next sequence
+        assertThat(next).containsEntry("event", "created")
+                .containsEntry("id", String.valueOf(position + 1));
+        Map<?, ?> entry = objectMapper.readValue(next.get("data"), Map.class);
+        assertThat(entry.get("courseCode")).isEqualTo("PHYS101");
+        assertThat(((Number) entry.get("courseId")).longValue()).isEqualTo(created.getId());
+    }
+
+    @Test
+    @Order(18)
+    void shouldImportCoursesFromCsvInBatches() {
+        // Given
+        courseService.createCourse(new Course("CS101", "Intro to Programming", "Basic programming", "Computer Science", 3));
+        HttpHeaders headers = createAuthHeaders(getAccessToken("admin", "admin123"));
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        String csv = """
+                courseCode,title,description,department,credits
+                CS201,Data Structures,"Lists, trees and \"\"graphs\"\"",Computer Science,4
+                MATH101,Calculus I,Differential calculus,Mathematics,4
+                MATH201,Linear Algebra,,Mathematics,3
+                """;
+
+        // When
+        ResponseEntity<CourseImportResult> response = restTemplate.exchange(
+                baseUrl + "/import", HttpMethod.POST, new HttpEntity<>(csv, headers), CourseImportResult.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().imported()).isEqualTo(3);
+        assertThat(response.getBody().rowsPerSecond()).isPositive();
+        assertThat(courseRepository.findByCourseCode("CS201")).get()
+                .extracting(Course::getDescription).isEqualTo("Lists, trees and \"graphs\"");
+        assertThat(restTemplate.getForEntity(baseUrl + "/public/departments/stats", DepartmentStats[].class).getBody())
+                .contains(new DepartmentStats("Mathematics", 2L, 7L));
+
+        // And - Ids handed out by the import don't collide with later single inserts
+        Course created = courseService.createCourse(new Course("PHYS101", "Mechanics", "Newtonian mechanics", "Physics", 4));
+        assertThat(courseRepository.count()).isEqualTo(5);
+        assertThat(created.getId()).isNotNull();
+
+        // When - A second upload repeats an existing code and has an invalid row
+        String invalid = """
+                courseCode,title,description,department,credits
+                CS301,Algorithms,Design and analysis,Computer Science,4
+                MATH101,Calculus I,Again,Mathematics,4
+                CS302,Compilers,Parsing,Computer Science,0
+                """;
+        ResponseEntity<CourseImportResult> rejected = restTemplate.exchange(
+                baseUrl + "/import", HttpMethod.POST, new HttpEntity<>(invalid, headers), CourseImportResult.class);
+
+        // Then - Nothing from it is imported
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rejected.getBody().errors()).extracting(CourseImportError::row).containsExactly(2, 3);
+        assertThat(courseRepository.findByCourseCode("CS301")).isEmpty();
+
+        // When - A JSON upload with something other than a course in the array
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = """
+                [{"courseCode":"CS303","title":"Databases","department":"Computer Science","credits":3},
+                 42,
+                 {"courseCode":"CS304","title":"Networks","department":"Computer Science","credits":3}]
+                """;
+        ResponseEntity<CourseImportResult> stray = restTemplate.exchange(
+                baseUrl + "/import", HttpMethod.POST, new HttpEntity<>(json, headers), CourseImportResult.class);
+
+        // Then - The whole upload is refused rather than cut short
+        assertThat(stray.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(stray.getBody().errors()).extracting(CourseImportError::row).containsExactly(2);
+        assertThat(courseRepository.findByCourseCode("CS303")).isEmpty();
+    }
+
+    @Test
+    @Order(19)
+    void shouldEvictOldCodeAndDepartmentWhenCourseIsRenamedAndMoved() {
+        // Given - A course whose code, department list and stats are all cached
+        Course course = courseService.createCourse(new Course("CS150", "Discrete Maths", "Logic and sets", "Computer Science", 3));
+        courseService.createCourse(new Course("CS160", "Systems", "Operating systems", "Computer Science", 3));
+        HttpHeaders headers = createAuthHeaders(getAccessToken("admin", "admin123"));
+        assertThat(restTemplate.exchange(baseUrl + "/code/CS150", HttpMethod.GET, new HttpEntity<>(headers), Course.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity(baseUrl + "/public/department/Computer Science", Course[].class).getBody())
+                .extracting(Course::getCourseCode).contains("CS150");
+        assertThat(restTemplate.getForEntity(baseUrl + "/public/departments/stats", DepartmentStats[].class).getBody())
+                .contains(new DepartmentStats("Computer Science", 2L, 6L));
+
+        // When - It is renamed and moved to another department over HTTP
+        Course changed = new Course("MATH150", "Discrete Maths", "Logic and sets", "Mathematics", 4);
+        ResponseEntity<Course> updated = restTemplate.exchange(baseUrl + "/" + course.getId(), HttpMethod.PUT,
+                new HttpEntity<>(changed, headers), Course.class);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Then - Nothing is served under the old code or department
+        assertThat(restTemplate.exchange(baseUrl + "/code/CS150", HttpMethod.GET, new HttpEntity<>(headers), Course.class)
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(restTemplate.getForEntity(baseUrl + "/public/department/Computer Science", Course[].class).getBody())
+                .extracting(Course::getCourseCode).containsExactly("CS160");
+        assertThat(restTemplate.getForEntity(baseUrl + "/public/departments/stats", DepartmentStats[].class).getBody())
+                .containsExactly(new DepartmentStats("Computer Science", 1L, 3L), new DepartmentStats("Mathematics", 1L, 4L));
+
+        // And - The new code validates
+        assertThat(restTemplate.exchange(baseUrl + "/code/MATH150", HttpMethod.GET, new HttpEntity<>(headers), Course.class)
+                .getBody().getDepartment()).isEqualTo("Mathematics");
+        assertThat(courseCodeFilter.mightContain("MATH150")).isTrue();
+    }
+
+    // Reads the first event (id, event and data fields) off the course feed, then disconnects
+    private Map<String, String> firstFeedEvent(String token, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/feed"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        try (Stream<String> lines = response.body()) {
+            return CompletableFuture.supplyAsync(() -> {
+                Map<String, String> event = new HashMap<>();
+                Iterator<String> iterator = lines.iterator();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (line.isEmpty() && !event.isEmpty()) {
+                        return event;
+                    }
+                    int colon = line.indexOf(':');
+                    if (colon > 0) {
+                        event.merge(line.substring(0, colon), line.substring(colon + 1), String::concat);
+                    }
+                }
+                return event;
+            }).get(10, TimeUnit.SECONDS);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.event.CourseChangedEvent;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import com.academicplanner.courseservice.search.CourseSuggestion;
+import com.academicplanner.courseservice.search.CourseSuggestionTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseSuggestionTrieTest {
+
+    private CourseSuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAll()).thenReturn(List.of(
+                course(1L, "CS101", "Introduction to Programming"),
+                course(2L, "CS201", "Data Structures"),
+                course(3L, "CS1010", "Programming Studio"),
+                course(4L, "PSY101", "Introduction to Psychology")));
+        trie = new CourseSuggestionTrie(courseRepository);
+        trie.build();
+    }
+
+    @Test
+    void suggestsCodeMatchesBeforeTitleWordMatches() {
+        assertThat(trie.suggest("cs1", 10)).extracting(CourseSuggestion::courseCode).containsExactly("CS101", "CS1010");
+        assertThat(trie.suggest("prog", 10)).extracting(CourseSuggestion::courseCode).containsExactly("CS101", "CS1010");
+        assertThat(trie.suggest("Intro", 1)).hasSize(1);
+        assertThat(trie.suggest("", 10)).isEmpty();
+        assertThat(trie.suggest("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void followsCourseChanges() {
+        trie.onCourseChanged(CourseChangedEvent.updated(course(2L, "CS201", "Data Structures"),
+                course(2L, "CS202", "Algorithms")));
+        assertThat(trie.suggest("cs201", 10)).isEmpty();
+        assertThat(trie.suggest("data", 10)).isEmpty();
+        assertThat(trie.suggest("algo", 10)).extracting(CourseSuggestion::courseCode).containsExactly("CS202");
+
+        trie.onCourseChanged(CourseChangedEvent.deleted(course(4L, "PSY101", "Introduction to Psychology")));
+        assertThat(trie.suggest("psy", 10)).isEmpty();
+        assertThat(trie.suggest("intro", 10)).extracting(CourseSuggestion::courseCode).containsExactly("CS101");
+    }
+
+    @Test
+    void keepsTheNearestCompletionsOnEveryNodeAsCoursesComeAndGo() {
+        CourseSuggestionTrie large = new CourseSuggestionTrie(mock(CourseRepository.class));
+        List<Course> courses = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            courses.add(course(id, "BIO" + (1000 + id), "Biology Seminar " + id));
+        }
+        large.build(courses);
+
+        assertThat(large.suggest("b", 100)).hasSize(CourseSuggestionTrie.MAX_SUGGESTIONS)
+                .extracting(CourseSuggestion::courseCode).startsWith("BIO1001", "BIO1002");
+
+        large.onCourseChanged(CourseChangedEvent.deleted(course(1L, "BIO1001", "Biology Seminar 1")));
+        assertThat(large.suggest("bio1", 3)).extracting(CourseSuggestion::courseCode)
+                .containsExactly("BIO1002", "BIO1003", "BIO1004");
+        assertThat(large.suggest("b", 50)).hasSize(50).extracting(CourseSuggestion::courseCode)
+                .doesNotContain("BIO1001").contains("BIO1051");
+
+        large.onCourseChanged(CourseChangedEvent.created(course(200L, "BIO1", "Biology")));
+        assertThat(large.suggest("b", 2)).extracting(CourseSuggestion::courseCode).containsExactly("BIO1", "BIO1002");
+    }
+
+    @Test
+    void replaysChangesThatArriveBetweenTheCatalogueLoadAndTheBuild() {
+        CourseSuggestionTrie fresh = new CourseSuggestionTrie(mock(CourseRepository.class));
+        List<Course> loaded = List.of(course(1L, "CS101", "Introduction to Programming"),
+                course(2L, "CS201", "Data Structures"));
+
+        fresh.onCourseChanged(CourseChangedEvent.deleted(course(1L, "CS101", "Introduction to Programming")));
+        fresh.onCourseChanged(CourseChangedEvent.created(course(5L, "CS301", "Algorithms")));
+        fresh.build(loaded);
+
+        assertThat(fresh.suggest("cs", 10)).extracting(CourseSuggestion::courseCode).containsExactly("CS201", "CS301");
+        assertThat(fresh.suggest("intro", 10)).isEmpty();
+    }
+
+    private static Course course(Long id, String code, String title) {
+        Course course = new Course(code, title, null, "Computer Science", 3);
+        course.setId(id);
+        return course;
+    }
+}
@@ -0,0 +1,46 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.cache.CourseCacheProperties;
+import com.academicplanner.courseservice.cache.TwoTierCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheNegativeCachingTest {
+
+    @Test
+    void cachedNotFoundIsCountedAndLeavesL1AfterNegativeTtl() throws Exception {
+        CourseCacheProperties.CacheSpec spec = new CourseCacheProperties.CacheSpec();
+        spec.setNegativeTtl(Duration.ofMillis(100));
+        spec.setLocalTtl(Duration.ofMinutes(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCache cache = new TwoTierCache("courseByCode", new ConcurrentMapCache("courseByCode"), spec,
+                (cacheName, key) -> { }, null, new CourseCacheProperties.LoadLock(), null, Runnable::run, meterRegistry);
+
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get("NOPE999", () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("NOPE999", () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("course.cache.negative.hits").counter().count()).isEqualTo(1.0);
+
+        // The negative TTL caps the L1 entry even though the local TTL is a minute
+        Thread.sleep(200);
+        double localMisses = meterRegistry.get("course.cache.requests")
+                .tag("tier", "l1").tag("result", "miss").counter().count();
+        cache.get("NOPE999", () -> null);
+        assertThat(meterRegistry.get("course.cache.requests")
+                .tag("tier", "l1").tag("result", "miss").counter().count()).isEqualTo(localMisses + 1);
+    }
+}
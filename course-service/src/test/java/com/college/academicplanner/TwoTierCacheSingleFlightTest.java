@@ -0,0 +1,65 @@
+package com.college.academicplanner;
+
+import com.academicplanner.courseservice.cache.CourseCacheProperties;
+import com.academicplanner.courseservice.cache.TwoTierCache;
+import com.academicplanner.courseservice.entity.Course;
+import com.academicplanner.courseservice.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoTierCacheSingleFlightTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+
+    @Test
+    void concurrentMissesOnExpiredKeyLoadFromRepositoryOnce() throws Exception {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findByDepartmentIgnoreCase("Computer Science")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of(new Course("CS101", "Introduction to Programming", "Basic programming concepts using Java",
+                    "Computer Science", 3));
+        });
+
+        TwoTierCache cache = new TwoTierCache("coursesByDepartment", new ConcurrentMapCache("coursesByDepartment"),
+                new CourseCacheProperties.CacheSpec(), (cacheName, key) -> { }, null,
+                new CourseCacheProperties.LoadLock(), null, Runnable::run, new SimpleMeterRegistry());
+
+        // Populate and then drop the entry, as the Redis TTL would
+        cache.put("computer science", List.of());
+        cache.evict("computer science");
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Course>>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("computer science",
+                        () -> courseRepository.findByDepartmentIgnoreCase("Computer Science"));
+            }));
+        }
+        start.countDown();
+
+        for (Future<List<Course>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).extracting(Course::getCourseCode).containsExactly("CS101");
+        }
+        executor.shutdown();
+
+        verify(courseRepository, times(1)).findByDepartmentIgnoreCase("Computer Science");
+    }
+}
@@ -0,0 +1,95 @@
+package com.college.academicplanner.benchmark;
+
+import com.academicplanner.courseservice.cache.CourseCacheValueSerializer;
+import com.academicplanner.courseservice.entity.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.college.academicplanner.benchmark.CacheValueSerializerBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"json", "binary", "binary-deflate"})
+    public String format;
+
+    @Param({"10", "500"})
+    public int catalogueSize;
+
+    private RedisSerializer<Object> serializer;
+    private List<Course> catalogue;
+    private byte[] encodedCatalogue;
+    private Course course;
+    private byte[] encodedCourse;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (format) {
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "binary" -> new CourseCacheValueSerializer(0);
+            default -> new CourseCacheValueSerializer(1024);
+        };
+        catalogue = new ArrayList<>();
+        for (int i = 0; i < catalogueSize; i++) {
+            Course c = new Course("CS" + (100 + i), "Course title " + i,
+                    "Description of course " + i + " covering the fundamentals of the subject area",
+                    i % 2 == 0 ? "Computer Science" : "Mathematics", 3 + i % 2);
+            c.setId((long) i + 1);
+            catalogue.add(c);
+        }
+        course = catalogue.get(0);
+        encodedCatalogue = serializer.serialize(catalogue);
+        encodedCourse = serializer.serialize(course);
+        System.out.printf("%n[%s, %d courses] catalogue=%d bytes, course=%d bytes%n",
+                format, catalogueSize, encodedCatalogue.length, encodedCourse.length);
+    }
+
+    @Benchmark
+    public byte[] encodeCatalogue() {
+        return serializer.serialize(catalogue);
+    }
+
+    @Benchmark
+    public Object decodeCatalogue() {
+        return serializer.deserialize(encodedCatalogue);
+    }
+
+    @Benchmark
+    public byte[] encodeCourse() {
+        return serializer.serialize(course);
+    }
+
+    @Benchmark
+    public Object decodeCourse() {
+        return serializer.deserialize(encodedCourse);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheValueSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,169 @@
+package com.college.academicplanner.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Keyword search latency at 100k courses: the LIKE scan on the V1 schema against the same query and
+// the ranked full-text query once V2 has added the trigram and tsvector indexes.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@Testcontainers
+class CourseKeywordSearchBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 30;
+    private static final List<String> KEYWORDS = List.of("quantum", "c04217", "thermodynamics", "prog");
+
+    // Mirrors CourseRepository.findByKeyword after Hibernate's translation
+    private static final String LIKE_SQL = "SELECT * FROM courses c WHERE " +
+            "LOWER(c.title) LIKE LOWER('%' || ? || '%') OR " +
+            "LOWER(c.description) LIKE LOWER('%' || ? || '%') OR " +
+            "LOWER(c.course_code) LIKE LOWER('%' || ? || '%')";
+
+    // Mirrors CourseRepository.searchRanked
+    private static final String RANKED_SQL = "SELECT c.* FROM courses c WHERE " +
+            "c.search_vector @@ websearch_to_tsquery('english', ?) OR " +
+            "LOWER(c.course_code) LIKE '%' || LOWER(?) || '%' OR " +
+            "LOWER(c.title) LIKE '%' || LOWER(?) || '%' OR " +
+            "LOWER(c.description) LIKE '%' || LOWER(?) || '%' " +
+            "ORDER BY LOWER(c.course_code) = LOWER(?) DESC, " +
+            "ts_rank_cd(c.search_vector, websearch_to_tsquery('english', ?)) DESC, " +
+            "similarity(LOWER(c.title), LOWER(?)) DESC, c.course_code";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1")
+            .withDatabaseName("course_bench")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @BeforeAll
+    static void loadCatalogue() throws SQLException {
+        migrate("1");
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO courses (course_code, title, description, department, credits)
+                    SELECT 'C' || lpad(i::text, 6, '0'),
+                           (ARRAY['Introduction to', 'Advanced', 'Applied', 'Topics in', 'Foundations of'])[1 + i %% 5] || ' ' ||
+                           (ARRAY['Programming', 'Calculus', 'Physics', 'Chemistry', 'History', 'Economics', 'Statistics'])[1 + i %% 7] ||
+                           ' ' || (i %% 400),
+                           (ARRAY['Lectures', 'Labs', 'Seminars'])[1 + i %% 3] || ' covering core concepts, ' ||
+                           CASE WHEN i %% 1000 = 0 THEN 'quantum computing, ' ELSE '' END ||
+                           CASE WHEN i %% 97 = 0 THEN 'thermodynamics, ' ELSE '' END ||
+                           'problem sets and a final project ' || md5(i::text),
+                           (ARRAY['Computer Science', 'Mathematics', 'Physics', 'History', 'Economics'])[1 + i %% 5],
+                           1 + i %% 4
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(ROWS));
+            statement.execute("ANALYZE courses");
+        }
+    }
+
+    @Test
+    void indexedSearchIsFasterThanLikeScanAt100kRows() throws SQLException {
+        Map<String, double[]> scan = new LinkedHashMap<>();
+        for (String keyword : KEYWORDS) {
+            scan.put(keyword, time(LIKE_SQL, keyword, 3));
+        }
+
+        migrate(null);
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE courses");
+        }
+
+        Map<String, double[]> indexedLike = new LinkedHashMap<>();
+        Map<String, double[]> ranked = new LinkedHashMap<>();
+        for (String keyword : KEYWORDS) {
+            indexedLike.put(keyword, time(LIKE_SQL, keyword, 3));
+            ranked.put(keyword, time(RANKED_SQL, keyword, 7));
+        }
+
+        System.out.printf("%n%-16s %22s %22s %22s%n", "keyword (" + ROWS + " rows)",
+                "LIKE scan p50/p95 ms", "LIKE+trgm p50/p95 ms", "ranked FTS p50/p95 ms");
+        for (String keyword : KEYWORDS) {
+            System.out.printf("%-16s %22s %22s %22s%n", keyword,
+                    format(scan.get(keyword)), format(indexedLike.get(keyword)), format(ranked.get(keyword)));
+        }
+        System.out.println(explain(RANKED_SQL, "quantum", 7));
+
+        // Selective keywords are where the indexes pay off
+        assertThat(explain(RANKED_SQL, "quantum", 7)).contains("Bitmap Index Scan");
+        assertThat(ranked.get("quantum")[0]).isLessThan(scan.get("quantum")[0]);
+        assertThat(indexedLike.get("c04217")[0]).isLessThan(scan.get("c04217")[0]);
+    }
+
+    // Median and 95th percentile over RUNS executions, after WARMUP discarded ones
+    private static double[] time(String sql, String keyword, int parameters) throws SQLException {
+        List<Long> samples = new ArrayList<>();
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setString(i, keyword);
+            }
+            for (int run = 0; run < WARMUP + RUNS; run++) {
+                long start = System.nanoTime();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        rows.getLong("id");
+                    }
+                }
+                if (run >= WARMUP) {
+                    samples.add(System.nanoTime() - start);
+                }
+            }
+        }
+        samples.sort(null);
+        return new double[]{
+                samples.get(samples.size() / 2) / 1_000_000.0,
+                samples.get((int) Math.ceil(samples.size() * 0.95) - 1) / 1_000_000.0};
+    }
+
+    private static String explain(String sql, String keyword, int parameters) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setString(i, keyword);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static String format(double[] latency) {
+        return "%.2f / %.2f".formatted(latency[0], latency[1]);
+    }
+
+    private static void migrate(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,150 @@
+#!/bin/bash
+
+# Load test comparing virtual-thread and platform-thread request handling
+#
+# Run once per mode against a freshly started stack, then compare:
+#   VIRTUAL_THREADS_ENABLED=false docker compose up -d --build && ./load-test-virtual-threads.sh platform
+#   VIRTUAL_THREADS_ENABLED=true  docker compose up -d --build && ./load-test-virtual-threads.sh virtual
+#   ./load-test-virtual-threads.sh compare
+#
+# Requires hey (https://github.com/rakyll/hey) and jq.
+
+KEYCLOAK_URL="http://localhost:8180"
+REALM="GBC_Realm"
+COURSE_SERVICE="http://localhost:8081"
+ASSIGNMENT_SERVICE="http://localhost:8082"
+
+CONCURRENCY_LEVELS=${CONCURRENCY_LEVELS:-"50 200 1000 2000"}
+DURATION=${DURATION:-30s}
+RESULTS_DIR=${RESULTS_DIR:-load-test-results}
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+MODE=$1
+
+if [ -z "$MODE" ]; then
+    echo "Usage: $0 <platform|virtual|compare>"
+    exit 1
+fi
+
+if ! command -v hey > /dev/null; then
+    echo -e "${RED}❌ hey is not installed (go install github.com/rakyll/hey@latest)${NC}"
+    exit 1
+fi
+
+# Function to get access token
+get_admin_token() {
+    echo "🔑 Getting admin access token..."
+
+    TOKEN_RESPONSE=$(curl -s -X POST \
+        "$KEYCLOAK_URL/realms/$REALM/protocol/openid-connect/token" \
+        -H "Content-Type: application/x-www-form-urlencoded" \
+        -d "username=admin" \
+        -d "password=admin123" \
+        -d "grant_type=password" \
+        -d "client_id=api-gateway" \
+        -d "client_secret=gateway-secret-key")
+
+    ACCESS_TOKEN=$(echo $TOKEN_RESPONSE | jq -r '.access_token')
+
+    if [ "$ACCESS_TOKEN" != "null" ] && [ "$ACCESS_TOKEN" != "" ]; then
+        echo -e "${GREEN}✅ Admin token obtained successfully${NC}"
+        return 0
+    else
+        echo -e "${YELLOW}⚠️ No token; authenticated endpoints will be skipped${NC}"
+        ACCESS_TOKEN=""
+        return 1
+    fi
+}
+
+# Function to run one scenario and append "name concurrency rps p50 p99 errors" to the results file
+# Extra arguments are passed through to hey (headers, method, body)
+run_scenario() {
+    local name=$1
+    local url=$2
+    local concurrency=$3
+    shift 3
+
+    echo -e "${BLUE}▶ $name at concurrency $concurrency for $DURATION${NC}"
+
+    OUTPUT=$(hey -z "$DURATION" -c "$concurrency" "$@" "$url")
+
+    RPS=$(echo "$OUTPUT" | awk '/Requests\/sec/ {print $2}')
+    P50=$(echo "$OUTPUT" | awk '/ 50% in/ {print $3 * 1000}')
+    P99=$(echo "$OUTPUT" | awk '/ 99% in/ {print $3 * 1000}')
+    ERRORS=$(echo "$OUTPUT" | awk '/\[[^2][0-9][0-9]\]/ {sum += $2} END {print sum + 0}')
+
+    printf "  %-10s req/s  %-8s p50 ms  %-8s p99 ms  %s non-2xx\n" "$RPS" "$P50" "$P99" "$ERRORS"
+    echo "$name $concurrency $RPS $P50 $P99 $ERRORS" >> "$RESULTS_FILE"
+}
+
+run_load_test() {
+    mkdir -p "$RESULTS_DIR"
+    RESULTS_FILE="$RESULTS_DIR/$MODE.txt"
+    : > "$RESULTS_FILE"
+
+    echo "🚀 Load testing with $MODE threads"
+    echo "=================================="
+
+    get_admin_token
+
+    for concurrency in $CONCURRENCY_LEVELS; do
+        # Database-bound: keyset page of 200 rows straight from Postgres
+        run_scenario "course-page" "$COURSE_SERVICE/api/courses/public/page?size=200" "$concurrency"
+        # In-memory: ranked keyword search over the trigram index
+        run_scenario "course-search" "$COURSE_SERVICE/api/courses/public/search?keyword=programming" "$concurrency"
+
+        if [ -n "$ACCESS_TOKEN" ]; then
+            # Redis-bound: single course lookups through the two-tier cache
+            run_scenario "course-by-code" "$COURSE_SERVICE/api/courses/code/CS101" "$concurrency" \
+                -H "Authorization: Bearer $ACCESS_TOKEN"
+            # MongoDB write behind a blocking WebClient validation call to course-service
+            run_scenario "assignment-create" "$ASSIGNMENT_SERVICE/api/assignments" "$concurrency" \
+                -H "Authorization: Bearer $ACCESS_TOKEN" -m POST -T "application/json" \
+                -d '{"title":"Load test","description":"Load test assignment","courseCode":"CS101","dueDate":"2030-01-01T23:59:00"}'
+        fi
+    done
+
+    echo ""
+    echo -e "${GREEN}✅ Results written to $RESULTS_FILE${NC}"
+}
+
+compare_results() {
+    local platform="$RESULTS_DIR/platform.txt"
+    local virtual="$RESULTS_DIR/virtual.txt"
+
+    if [ ! -f "$platform" ] || [ ! -f "$virtual" ]; then
+        echo -e "${RED}❌ Run both the platform and virtual modes first${NC}"
+        exit 1
+    fi
+
+    echo "📊 Platform vs virtual threads"
+    echo "=============================="
+    printf "%-16s %6s | %10s %10s | %9s %9s | %8s %8s\n" \
+        "scenario" "conc" "rps plat" "rps virt" "p99 plat" "p99 virt" "err plat" "err virt"
+
+    join <(awk '{print $1"@"$2, $3, $5, $6}' "$platform" | sort) \
+         <(awk '{print $1"@"$2, $3, $5, $6}' "$virtual" | sort) |
+    while read key rps_p p99_p err_p rps_v p99_v err_v; do
+        printf "%-16s %6s | %10s %10s | %9s %9s | %8s %8s\n" \
+            "${key%@*}" "${key#*@}" "$rps_p" "$rps_v" "$p99_p" "$p99_v" "$err_p" "$err_v"
+    done
+}
+
+case $MODE in
+    platform|virtual)
+        run_load_test
+        ;;
+    compare)
+        compare_results
+        ;;
+    *)
+        echo "Usage: $0 <platform|virtual|compare>"
+        exit 1
+        ;;
+esac
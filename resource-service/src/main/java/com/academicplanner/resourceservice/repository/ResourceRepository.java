@@ -23,4 +23,23 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
            "(LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(r.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Resource> findByCategoryAndKeyword(@Param("category") ResourceCategory category, @Param("keyword") String keyword);
+
+    // Ranked, index-backed versions of the two keyword queries above (see V2__resource_search_indexes.sql)
+    @Query(value = "SELECT r.* FROM resources r WHERE " +
+           "r.search_vector @@ websearch_to_tsquery('english', :keyword) OR " +
+           "LOWER(r.title) LIKE '%' || LOWER(:keyword) || '%' OR " +
+           "LOWER(r.description) LIKE '%' || LOWER(:keyword) || '%' " +
+           "ORDER BY ts_rank_cd(r.search_vector, websearch_to_tsquery('english', :keyword)) DESC, " +
+           "similarity(LOWER(r.title), LOWER(:keyword)) DESC, r.id",
+           nativeQuery = true)
+    List<Resource> searchRanked(@Param("keyword") String keyword);
+
+    @Query(value = "SELECT r.* FROM resources r WHERE r.category = :category AND " +
+           "(r.search_vector @@ websearch_to_tsquery('english', :keyword) OR " +
+           "LOWER(r.title) LIKE '%' || LOWER(:keyword) || '%' OR " +
+           "LOWER(r.description) LIKE '%' || LOWER(:keyword) || '%') " +
+           "ORDER BY ts_rank_cd(r.search_vector, websearch_to_tsquery('english', :keyword)) DESC, " +
+           "similarity(LOWER(r.title), LOWER(:keyword)) DESC, r.id",
+           nativeQuery = true)
+    List<Resource> searchRankedByCategory(@Param("category") String category, @Param("keyword") String keyword);
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.academicplanner.resourceservice.dto.shared.CourseDto;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,6 +26,10 @@ public class ResourceService {
     private final CourseServiceClient courseServiceClient;
     private final CachedDataService cachedDataService;
 
+    // Ranked queries over the full-text and trigram indexes; false falls back to the plain LIKE queries
+    @Value("${resource-search.full-text.enabled:true}")
+    private boolean fullTextSearch;
+
     public List<Resource> getAllResources() {
         return resourceRepository.findAll();
     }
@@ -38,10 +43,16 @@ public class ResourceService {
     }
 
     public List<Resource> searchResourcesByKeyword(String keyword) {
+        if (fullTextSearch) {
+            return resourceRepository.searchRanked(keyword);
+        }
         return resourceRepository.findByKeyword(keyword);
     }
 
     public List<Resource> searchResourcesByCategoryAndKeyword(ResourceCategory category, String keyword) {
+        if (fullTextSearch) {
+            return resourceRepository.searchRankedByCategory(category.name(), keyword);
+        }
         return resourceRepository.findByCategoryAndKeyword(category, keyword);
     }
 
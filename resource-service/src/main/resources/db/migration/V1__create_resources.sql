@@ -0,0 +1,11 @@
+-- Baseline schema, matching what Hibernate generated from the Resource entity
+CREATE TABLE resources
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255),
+    url         VARCHAR(255),
+    category    VARCHAR(255),
+    description VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
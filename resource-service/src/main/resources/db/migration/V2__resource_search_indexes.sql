@@ -0,0 +1,15 @@
+-- Index-backed keyword search
+--  * trigram GIN indexes serve the case-insensitive substring matches (LOWER(col) LIKE '%kw%')
+--  * a weighted tsvector (title > description) serves ranked full-text matches
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE resources
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_resources_search_vector ON resources USING GIN (search_vector);
+CREATE INDEX idx_resources_title_trgm ON resources USING GIN (LOWER(title) gin_trgm_ops);
+CREATE INDEX idx_resources_description_trgm ON resources USING GIN (LOWER(description) gin_trgm_ops);
+CREATE INDEX idx_resources_category ON resources (category);